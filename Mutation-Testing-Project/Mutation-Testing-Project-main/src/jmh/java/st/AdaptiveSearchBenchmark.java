@@ -0,0 +1,61 @@
+package st;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/*
+ * The AdaptiveSearch strategies one by one and the adaptive choice, over the
+ * Inputs kinds and a pattern length sweep on a 64K text. The thresholds in
+ * AdaptiveSearch are read off this table: adaptive should track the fastest
+ * fixed strategy in every row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AdaptiveSearchBenchmark {
+
+	@Param({ "RANDOM", "LOW_ENTROPY", "ADVERSARIAL", "UNICODE" })
+	Inputs.Kind kind;
+
+	@Param({ "4", "16", "64", "256", "1024" })
+	int m;
+
+	App app = new App();
+	String text, pattern;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(46);
+		text = Inputs.text(kind, 65536, random);
+		pattern = Inputs.pattern(kind, text, m, random);
+	}
+
+	@Benchmark
+	public int indexOf() {
+		return text.indexOf(pattern);
+	}
+
+	@Benchmark
+	public int horspool() {
+		return AdaptiveSearch.horspool(pattern, text);
+	}
+
+	@Benchmark
+	public int kmp() {
+		return app.KMPSearch(pattern, text);
+	}
+
+	@Benchmark
+	public int adaptive() {
+		return AdaptiveSearch.search(pattern, text);
+	}
+}
@@ -0,0 +1,101 @@
+package st;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/*
+ * One op is a batch of JOBS edit distance jobs, submitted at once and waited
+ * for, through AlgorithmExecutor (virtual threads, maxConcurrency = JOBS) and
+ * through a fixed pool of POOL platform threads. With blockMicros > 0 every job
+ * first sleeps that long, standing in for the I/O of a request pipeline: the
+ * fixed pool then runs POOL jobs at a time, the virtual threads all of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AlgorithmExecutorBenchmark {
+
+	static final int JOBS = 10_000;
+	static final int POOL = 64;
+
+	@Param({ "0", "1000" })
+	int blockMicros;
+
+	String[] first, second;
+	AlgorithmExecutor executor;
+	ExecutorService pool;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(48);
+		first = new String[JOBS];
+		second = new String[JOBS];
+		for (int i = 0; i < JOBS; i++) {
+			first[i] = Inputs.text(Inputs.Kind.RANDOM, 16, random);
+			second[i] = Inputs.text(Inputs.Kind.RANDOM, 16, random);
+		}
+		executor = new AlgorithmExecutor(JOBS);
+		pool = Executors.newFixedThreadPool(POOL);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		executor.close();
+		pool.shutdownNow();
+	}
+
+	private Callable<Integer> job(int i) {
+		Callable<Integer> editDistance = AlgorithmExecutor.Job.editDistance(first[i], second[i]).task;
+		if (blockMicros == 0) {
+			return editDistance;
+		}
+		return () -> {
+			TimeUnit.MICROSECONDS.sleep(blockMicros);
+			return editDistance.call();
+		};
+	}
+
+	@Benchmark
+	public long virtualThreads() throws InterruptedException {
+		List<AlgorithmExecutor.Job<Integer>> jobs = new ArrayList<>(JOBS);
+		for (int i = 0; i < JOBS; i++) {
+			jobs.add(AlgorithmExecutor.Job.of("editDistance", job(i)));
+		}
+		long sum = 0;
+		for (AlgorithmExecutor.Outcome<Integer> outcome : executor.runAll(jobs)) {
+			sum += outcome.value;
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public long fixedPool() throws InterruptedException, ExecutionException {
+		List<Callable<Integer>> jobs = new ArrayList<>(JOBS);
+		for (int i = 0; i < JOBS; i++) {
+			jobs.add(job(i));
+		}
+		long sum = 0;
+		for (Future<Integer> future : pool.invokeAll(jobs)) {
+			sum += future.get();
+		}
+		return sum;
+	}
+}
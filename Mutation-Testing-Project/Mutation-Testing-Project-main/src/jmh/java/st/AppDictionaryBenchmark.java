@@ -0,0 +1,131 @@
+package st;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/*
+ * Dictionary and word methods of App. size is the length of the sentence
+ * given to wordBreak1, built from dictionary words. wordBreak2 lists every
+ * split, exponential on ADVERSARIAL input, so it gets the first 12 chars only.
+ * minStickers and kSimilarity are exponential searches and run on fixed small
+ * lowercase inputs derived from the same kind.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AppDictionaryBenchmark {
+
+	@Param({ "RANDOM", "LOW_ENTROPY", "ADVERSARIAL", "UNICODE" })
+	Inputs.Kind kind;
+
+	@Param({ "16", "64" })
+	int size;
+
+	App app = new App();
+	List<String> dictionary;
+	String[] words;
+	String sentence, shortSentence;
+	String[] prefixed;
+	String[] stickers;
+	String stickerTarget;
+	String anagram, shuffled;
+	String vowels;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(41);
+		words = Inputs.words(kind, 200, 6, random);
+		dictionary = Arrays.asList(words);
+		StringBuilder sb = new StringBuilder();
+		while (sb.length() < size) {
+			sb.append(words[random.nextInt(words.length)]);
+		}
+		sentence = sb.substring(0, size);
+		shortSentence = sentence.substring(0, 12);
+
+		String common = Inputs.text(kind, size, random);
+		prefixed = new String[100];
+		for (int i = 0; i < prefixed.length; i++) {
+			prefixed[i] = common + words[i];
+		}
+
+		stickers = new String[8];
+		for (int i = 0; i < stickers.length; i++) {
+			stickers[i] = Inputs.lowercase(Inputs.text(kind, 6, random));
+		}
+		// Only letters some sticker has, so the target is reachable
+		String letters = String.join("", stickers);
+		char[] target = new char[12];
+		for (int i = 0; i < target.length; i++) {
+			target[i] = letters.charAt(random.nextInt(letters.length()));
+		}
+		stickerTarget = new String(target);
+
+		char[] chars = Inputs.lowercase(Inputs.text(kind, 10, random)).toCharArray();
+		anagram = new String(chars);
+		for (int i = chars.length - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			char t = chars[i];
+			chars[i] = chars[j];
+			chars[j] = t;
+		}
+		shuffled = new String(chars);
+		vowels = Inputs.text(kind, size * 16, random);
+	}
+
+	@Benchmark
+	public boolean wordBreak1() {
+		return app.wordBreak1(sentence, dictionary);
+	}
+
+	@Benchmark
+	public List<String> wordBreak2() {
+		return app.wordBreak2(shortSentence, dictionary);
+	}
+
+	@Benchmark
+	public List<String> concatenatedWords() {
+		return app.findAllConcatenatedWordsInADict(words);
+	}
+
+	@Benchmark
+	public String longestCommonPrefix() {
+		return app.longestCommonPrefix(prefixed);
+	}
+
+	@Benchmark
+	public int minStickers() {
+		return app.minStickers(stickers, stickerTarget);
+	}
+
+	@Benchmark
+	public int kSimilarity() {
+		return app.kSimilarity(shuffled, anagram);
+	}
+
+	@Benchmark
+	public int atMostNGivenDigitSet() {
+		return app.atMostNGivenDigitSet(new String[] { "1", "3", "5", "7" }, 100_000 * size);
+	}
+
+	@Benchmark
+	public String reverseVowel() {
+		return app.reverseVowel(vowels);
+	}
+
+	@Benchmark
+	public String leftrotate() {
+		return app.leftrotate(vowels, size);
+	}
+}
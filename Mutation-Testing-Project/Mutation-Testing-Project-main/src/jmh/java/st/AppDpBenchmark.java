@@ -0,0 +1,110 @@
+package st;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/*
+ * Quadratic dynamic programming methods of App on two strings of the given
+ * size. The memoized recursions (superSeq, calculateEditDistance) recurse
+ * size deep, which bounds the sweep. lps is exponential without memoization
+ * and always runs on the first 18 chars.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AppDpBenchmark {
+
+	@Param({ "RANDOM", "LOW_ENTROPY", "ADVERSARIAL", "UNICODE" })
+	Inputs.Kind kind;
+
+	@Param({ "64", "512" })
+	int size;
+
+	App app = new App();
+	String x, y;
+	char[] xChars, yChars;
+	char[] lpsInput;
+	String brackets;
+	String wildcard;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(41);
+		x = Inputs.text(kind, size, random);
+		y = Inputs.text(kind, size, random);
+		xChars = x.toCharArray();
+		yChars = y.toCharArray();
+		lpsInput = x.substring(0, 18).toCharArray();
+		brackets = Inputs.brackets(kind, size, random);
+		wildcard = "*" + x.substring(size / 4, size / 2) + "?*";
+	}
+
+	@Benchmark
+	public int lcs() {
+		return app.LCS(xChars, yChars, size, size);
+	}
+
+	@Benchmark
+	public int lps() {
+		return app.lps(lpsInput, 0, lpsInput.length - 1);
+	}
+
+	@Benchmark
+	public int superSeq() {
+		return app.superSeq(x, y, size, size, new int[size + 1][size + 1]);
+	}
+
+	@Benchmark
+	public int maxCommStr() {
+		return app.maxCommStr(x, y);
+	}
+
+	@Benchmark
+	public int editDistance() {
+		int[][] memo = new int[size + 1][size + 1];
+		for (int[] row : memo) {
+			Arrays.fill(row, -1);
+		}
+		return app.calculateEditDistance(x, y, size, size, memo);
+	}
+
+	@Benchmark
+	public int sequenceAlignment() {
+		return app.SequenceAlignment(x, y, 3, 2);
+	}
+
+	@Benchmark
+	public boolean wildcardPattern() {
+		return app.WildcardPattern(x, wildcard, x.length(), wildcard.length());
+	}
+
+	@Benchmark
+	public int minPalPartition() {
+		return app.minPalPartition(x);
+	}
+
+	@Benchmark
+	public int longestRepeatingSubSeq() {
+		return app.LongestRepeatingSubSeq(x);
+	}
+
+	@Benchmark
+	public int longestValidParentheses() {
+		return app.findLongestValidParentheses(brackets, brackets.length());
+	}
+
+	@Benchmark
+	public int kVowelWords() {
+		return app.KVowelWords(size, 3);
+	}
+}
@@ -0,0 +1,65 @@
+package st;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/*
+ * Palindrome methods of App over the Inputs kinds. palindromePairs takes
+ * size / 16 words of up to 16 chars, the other methods one text of size chars.
+ * isPalindrome runs on the text mirrored onto itself, its worst case.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AppPalindromeBenchmark {
+
+	@Param({ "RANDOM", "LOW_ENTROPY", "ADVERSARIAL", "UNICODE" })
+	Inputs.Kind kind;
+
+	@Param({ "1024", "65536" })
+	int size;
+
+	App app = new App();
+	String text;
+	String mirrored;
+	String[] words;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(41);
+		text = Inputs.text(kind, size, random);
+		String half = text.substring(0, size / 2);
+		mirrored = half + app.reverseStr(half);
+		words = Inputs.words(kind, size / 16, 16, random);
+	}
+
+	@Benchmark
+	public String longestPalindromicSubstring() {
+		return app.findLongestPalindromicSubstring(text);
+	}
+
+	@Benchmark
+	public boolean isPalindrome() {
+		return app.isPalindrome(mirrored);
+	}
+
+	@Benchmark
+	public String reverseStr() {
+		return app.reverseStr(text);
+	}
+
+	@Benchmark
+	public List<List<Integer>> palindromePairs() {
+		return app.palindromePairs(words);
+	}
+}
@@ -0,0 +1,108 @@
+package st;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/*
+ * Search methods of App over the Inputs kinds and a size sweep of the text,
+ * with a 16 char pattern. BoyerMoore (256 entry table) gets latin1 input and
+ * repeatedStringMatch (26 entry shift table) lowercase input.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AppSearchBenchmark {
+
+	@Param({ "RANDOM", "LOW_ENTROPY", "ADVERSARIAL", "UNICODE" })
+	Inputs.Kind kind;
+
+	@Param({ "1024", "65536" })
+	int size;
+
+	App app = new App();
+	String text, pattern;
+	char[] latin1Text, latin1Pattern;
+	String repeatUnit, repeated;
+	String rotation;
+	int[] values, sortedValues;
+	int target;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(41);
+		text = Inputs.text(kind, size, random);
+		pattern = Inputs.pattern(kind, text, 16, random);
+		latin1Text = Inputs.latin1(text).toCharArray();
+		latin1Pattern = Inputs.latin1(pattern).toCharArray();
+
+		String lower = Inputs.lowercase(text);
+		repeatUnit = lower.substring(0, 64);
+		repeated = repeatUnit.repeat(size / 64 + 1).substring(7, 7 + size - 64);
+		rotation = app.leftrotate(text, size / 3);
+
+		values = text.chars().toArray();
+		sortedValues = values.clone();
+		Arrays.sort(sortedValues);
+		target = pattern.charAt(0);
+	}
+
+	@Benchmark
+	public int rabinKarp() {
+		return app.rabinKarp(pattern, text, 101);
+	}
+
+	@Benchmark
+	public int zAlgorithm() {
+		return app.ZAlgorithm(text, pattern);
+	}
+
+	@Benchmark
+	public int kmpSearch() {
+		return app.KMPSearch(pattern, text);
+	}
+
+	@Benchmark
+	public int boyerMoore() {
+		return app.BoyerMoore(latin1Text, latin1Pattern);
+	}
+
+	@Benchmark
+	public int repeatedStringMatch() {
+		return app.repeatedStringMatch(repeatUnit, repeated);
+	}
+
+	@Benchmark
+	public int repeatedStringMatchCyclic() {
+		return app.repeatedStringMatchCyclic(repeatUnit, repeated);
+	}
+
+	@Benchmark
+	public int longestPrefixSuffix() {
+		return app.longestPrefixSuffix(text);
+	}
+
+	@Benchmark
+	public boolean isRotation() {
+		return app.isRotation(text, rotation);
+	}
+
+	@Benchmark
+	public int linearSearch() {
+		return app.linearSearch(values, -1);
+	}
+
+	@Benchmark
+	public int binarySearch() {
+		return app.binarySearch(sortedValues, target);
+	}
+}
@@ -0,0 +1,64 @@
+package st;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/*
+ * 1M atMostNGivenDigitSet queries against one digit set: App (String bound,
+ * rates rebuilt per call) on int bounds, and the DigitSetCounter batch on the
+ * same int bounds and on full long bounds. Run with -prof gc for allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DigitSetBenchmark {
+
+	static final int QUERIES = 1_000_000;
+
+	App app = new App();
+	String[] digits = { "1", "3", "4", "7", "9" };
+	DigitSetCounter counter = new DigitSetCounter(digits);
+	int[] intBounds = new int[QUERIES];
+	long[] longBounds = new long[QUERIES];
+	long[] widenedBounds = new long[QUERIES];
+	long[] out = new long[QUERIES];
+
+	@Setup
+	public void setup() {
+		Random random = new Random(40);
+		for (int i = 0; i < QUERIES; i++) {
+			intBounds[i] = 1 + random.nextInt(Integer.MAX_VALUE - 1);
+			widenedBounds[i] = intBounds[i];
+			longBounds[i] = 1 + (random.nextLong() >>> 1);
+		}
+	}
+
+	@Benchmark
+	public long app() {
+		long sum = 0;
+		for (int n : intBounds) {
+			sum += app.atMostNGivenDigitSet(digits, n);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public long[] counterIntBounds() {
+		counter.atMostAll(widenedBounds, out);
+		return out;
+	}
+
+	@Benchmark
+	public long[] counterLongBounds() {
+		counter.atMostAll(longBounds, out);
+		return out;
+	}
+}
@@ -0,0 +1,128 @@
+package st;
+
+import java.util.Random;
+
+/*
+ * Input generators shared by the App* benchmarks. Every generator is seeded by
+ * the caller, so a (kind, size) pair always produces the same input.
+ *
+ *   RANDOM       uniform 'a'..'z'
+ *   LOW_ENTROPY  'a' with one 'b' in sixteen, long runs and many repeats
+ *   ADVERSARIAL  "aaa...ab", worst case for naive matching and palindrome scans
+ *   UNICODE      Latin-1, Greek, CJK and surrogate pair (emoji) characters
+ *
+ * Methods restricted to 'a'..'z' or to 8-bit chars get their input through
+ * lowercase/latin1, which fold every char into that range.
+ */
+public final class Inputs {
+
+	public enum Kind {
+		RANDOM, LOW_ENTROPY, ADVERSARIAL, UNICODE
+	}
+
+	private static final String[] UNICODE_SYMBOLS = { "a", "é", "ß", "λ", "Ω", "中", "文", "😀", "𝄞" };
+
+	private Inputs() {
+	}
+
+	static String text(Kind kind, int size, Random random) {
+		StringBuilder sb = new StringBuilder(size + 1);
+		switch (kind) {
+		case RANDOM:
+			while (sb.length() < size) {
+				sb.append((char) ('a' + random.nextInt(26)));
+			}
+			break;
+		case LOW_ENTROPY:
+			while (sb.length() < size) {
+				sb.append(random.nextInt(16) == 0 ? 'b' : 'a');
+			}
+			break;
+		case ADVERSARIAL:
+			while (sb.length() < size - 1) {
+				sb.append('a');
+			}
+			sb.append('b');
+			break;
+		case UNICODE:
+			while (sb.length() < size) {
+				sb.append(UNICODE_SYMBOLS[random.nextInt(UNICODE_SYMBOLS.length)]);
+			}
+			break;
+		}
+		// A surrogate pair may overshoot by one char
+		return sb.substring(0, size);
+	}
+
+	/*
+	 * Pattern of length m: a piece of the last quarter of text, so a match exists
+	 * but is found late. For ADVERSARIAL it is "aaa...ac", absent and maximally
+	 * overlapping with the text.
+	 */
+	static String pattern(Kind kind, String text, int m, Random random) {
+		if (kind == Kind.ADVERSARIAL) {
+			return "a".repeat(m - 1) + "c";
+		}
+		int from = text.length() * 3 / 4 + random.nextInt(Math.max(1, text.length() / 4 - m));
+		return text.substring(from, Math.min(text.length(), from + m));
+	}
+
+	// s with every char folded into 'a'..'z'
+	static String lowercase(String s) {
+		char[] chars = s.toCharArray();
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = (char) ('a' + chars[i] % 26);
+		}
+		return new String(chars);
+	}
+
+	// s with every char folded below 256
+	static String latin1(String s) {
+		char[] chars = s.toCharArray();
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = (char) (chars[i] & 0xFF);
+		}
+		return new String(chars);
+	}
+
+	/*
+	 * Bracket string for the parentheses methods: RANDOM is balanced on average,
+	 * LOW_ENTROPY mostly '(', ADVERSARIAL one fully nested valid run, UNICODE
+	 * mixes in full-width parentheses, which App counts as ')'.
+	 */
+	static String brackets(Kind kind, int size, Random random) {
+		StringBuilder sb = new StringBuilder(size);
+		switch (kind) {
+		case RANDOM:
+			for (int i = 0; i < size; i++) {
+				sb.append(random.nextBoolean() ? '(' : ')');
+			}
+			break;
+		case LOW_ENTROPY:
+			for (int i = 0; i < size; i++) {
+				sb.append(random.nextInt(10) == 0 ? ')' : '(');
+			}
+			break;
+		case ADVERSARIAL:
+			sb.append("(".repeat(size / 2)).append(")".repeat(size - size / 2));
+			break;
+		case UNICODE:
+			for (int i = 0; i < size; i++) {
+				int r = random.nextInt(4);
+				sb.append(r == 0 ? '(' : r == 1 ? ')' : r == 2 ? '（' : '）');
+			}
+			break;
+		}
+		return sb.toString();
+	}
+
+	// count words of 1..maxLength chars drawn like text(kind, ...)
+	static String[] words(Kind kind, int count, int maxLength, Random random) {
+		String[] words = new String[count];
+		for (int i = 0; i < count; i++) {
+			int length = kind == Kind.ADVERSARIAL ? 1 + i % maxLength : 1 + random.nextInt(maxLength);
+			words[i] = kind == Kind.ADVERSARIAL ? "a".repeat(length) : text(kind, length, random);
+		}
+		return words;
+	}
+}
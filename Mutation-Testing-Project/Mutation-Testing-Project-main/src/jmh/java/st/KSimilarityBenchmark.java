@@ -0,0 +1,84 @@
+package st;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/*
+ * App.kSimilarity (plain BFS) against KSimilaritySolver (IDA*) on random anagram
+ * pairs over 'a'..'f'. The solver also reports the nodes it expanded per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class KSimilarityBenchmark {
+
+	@Param({ "12", "16", "20" })
+	int length;
+
+	static final int PAIRS = 16;
+
+	App app = new App();
+	KSimilaritySolver solver = new KSimilaritySolver();
+	String[] sources = new String[PAIRS];
+	String[] targets = new String[PAIRS];
+	int next;
+
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class Work {
+		// Totals per iteration, expanded / calls is the mean per solve
+		public long expanded;
+		public long calls;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			expanded = 0;
+			calls = 0;
+		}
+	}
+
+	@Setup
+	public void setup() {
+		Random random = new Random(32);
+		for (int p = 0; p < PAIRS; p++) {
+			char[] chars = new char[length];
+			for (int i = 0; i < length; i++) {
+				chars[i] = (char) ('a' + random.nextInt(6));
+			}
+			sources[p] = new String(chars);
+			for (int i = length - 1; i > 0; i--) {
+				int j = random.nextInt(i + 1);
+				char tmp = chars[i];
+				chars[i] = chars[j];
+				chars[j] = tmp;
+			}
+			targets[p] = new String(chars);
+		}
+	}
+
+	@Benchmark
+	public int bfs() {
+		int p = next++ & (PAIRS - 1);
+		return app.kSimilarity(sources[p], targets[p]);
+	}
+
+	@Benchmark
+	public int idaStar(Work work) {
+		int p = next++ & (PAIRS - 1);
+		KSimilaritySolver.Result result = solver.solve(sources[p], targets[p]);
+		work.expanded += result.expanded;
+		work.calls++;
+		return result.swaps;
+	}
+}
@@ -0,0 +1,70 @@
+package st;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/*
+ * Cost of MeteredApp over a direct App call on inputs small enough for the
+ * bookkeeping to show: KMPSearch of 4 chars in 64 and isPalindrome of 16.
+ * With metrics off and no recording the metered and direct scores should be
+ * within noise (the AlgorithmEvents allocation is scalar replaced), with
+ * metrics on the difference is two nanoTime calls and three striped increments.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MetricsOverheadBenchmark {
+
+	@Param({ "false", "true" })
+	boolean metrics;
+
+	App app = new App();
+	MeteredApp metered = new MeteredApp(app);
+	String text;
+	String pattern;
+	String palindrome;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(43);
+		text = Inputs.text(Inputs.Kind.RANDOM, 64, random);
+		pattern = text.substring(50, 54);
+		palindrome = "abcdefghhgfedcba";
+		AppMetrics.setEnabled(metrics);
+	}
+
+	@TearDown
+	public void tearDown() {
+		AppMetrics.setEnabled(false);
+	}
+
+	@Benchmark
+	public int kmpDirect() {
+		return app.KMPSearch(pattern, text);
+	}
+
+	@Benchmark
+	public int kmpMetered() {
+		return metered.KMPSearch(pattern, text);
+	}
+
+	@Benchmark
+	public boolean isPalindromeDirect() {
+		return app.isPalindrome(palindrome);
+	}
+
+	@Benchmark
+	public boolean isPalindromeMetered() {
+		return metered.isPalindrome(palindrome);
+	}
+}
@@ -0,0 +1,92 @@
+package st;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/*
+ * 1024 modular powers with 30 bit exponents: App.power (int products, only
+ * exact for small moduli, timed for reference), the long path, Montgomery
+ * powAll and fixed-base window tables.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ModPowBenchmark {
+
+	static final int MOD = 1_000_000_007;
+
+	App app = new App();
+	int[] bases = new int[1024];
+	int[] exps = new int[1024];
+	int exp;
+	ModArithmetic.FixedBase five = new ModArithmetic.FixedBase(5, MOD);
+
+	@Setup
+	public void setup() {
+		Random random = new Random(39);
+		for (int i = 0; i < bases.length; i++) {
+			bases[i] = random.nextInt(MOD);
+			exps[i] = random.nextInt(1 << 30);
+		}
+		exp = exps[0];
+	}
+
+	@Benchmark
+	public int appPower() {
+		int sum = 0;
+		for (int base : bases) {
+			sum += app.power(base, exp, MOD);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public long longPow() {
+		long sum = 0;
+		for (int base : bases) {
+			sum += ModArithmetic.pow(base, exp, MOD);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public int[] montgomeryPowAll() {
+		return ModArithmetic.powAll(bases, exp, MOD);
+	}
+
+	// Same base, varying exponents: power(5, i, MOD) as in KVowelWords
+	@Benchmark
+	public long appPowerFixedBase() {
+		long sum = 0;
+		for (int e : exps) {
+			sum += app.power(5, e, MOD);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public long longPowFixedBase() {
+		long sum = 0;
+		for (int e : exps) {
+			sum += ModArithmetic.pow(5, e, MOD);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public long windowFixedBase() {
+		long sum = 0;
+		for (int e : exps) {
+			sum += five.pow(e);
+		}
+		return sum;
+	}
+}
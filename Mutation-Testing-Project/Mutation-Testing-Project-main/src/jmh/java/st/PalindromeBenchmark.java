@@ -0,0 +1,62 @@
+package st;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/*
+ * UTF-8 byte mode of findLongestPalindromicSubstring against decoding the buffer
+ * to a String first and searching by code point.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PalindromeBenchmark {
+
+	@Param({ "1000", "100000" })
+	int size;
+
+	// ascii: one byte per code point, mixed: latin, CJK and emoji
+	@Param({ "ascii", "mixed" })
+	String alphabet;
+
+	App app = new App();
+	byte[] utf8;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(28);
+		String[] symbols = alphabet.equals("ascii")
+				? new String[] { "a", "b", "c" }
+				: new String[] { "a", "é", "中", "😀" };
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < size; i++) {
+			sb.append(symbols[random.nextInt(symbols.length)]);
+		}
+		utf8 = sb.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public int[] byteMode() {
+		return app.findLongestPalindromicSubstring(utf8);
+	}
+
+	@Benchmark
+	public String decodeThenSearch() {
+		return app.findLongestPalindromicSubstringByCodePoint(new String(utf8, StandardCharsets.UTF_8));
+	}
+
+	@Benchmark
+	public String decodeThenSearchChars() {
+		return app.findLongestPalindromicSubstring(new String(utf8, StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,58 @@
+package st;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/*
+ * Longest valid parentheses over 64M chars: the two-pass App scan against the
+ * prefix-sum fork/join mode on pools of 1..8 workers, to show core scaling.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParenthesesBenchmark {
+
+	@Param({ "1", "2", "4", "8" })
+	int threads;
+
+	App app = new App();
+	String input;
+	ForkJoinPool pool;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(37);
+		char[] chars = new char[64 << 20];
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = random.nextBoolean() ? '(' : ')';
+		}
+		input = new String(chars);
+		pool = new ForkJoinPool(threads);
+	}
+
+	@TearDown
+	public void tearDown() {
+		pool.shutdown();
+	}
+
+	@Benchmark
+	public int sequential() {
+		return app.findLongestValidParentheses(input, input.length());
+	}
+
+	@Benchmark
+	public long prefixSum() {
+		return ParenthesesScanner.longestPrefixSum(input, pool)[1];
+	}
+}
@@ -0,0 +1,200 @@
+package st;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/*
+ * Performance regression gate: runs a fast subset of the App* benchmarks with
+ * the GC profiler and compares every (benchmark, params) score and allocation
+ * per operation with a committed baseline.
+ *
+ *   RegressionGate check  <baseline> <tolerance> <allocTolerance>
+ *   RegressionGate update <baseline>
+ *
+ * check exits with 1 when a score (average time, so lower is better) exceeds
+ * its baseline by more than tolerance, e.g. 0.25 for +25%, or when allocation
+ * exceeds it by more than allocTolerance plus ALLOC_SLACK bytes, when its unit
+ * changed, or when a baseline entry is MISSING from the run. Entries that are
+ * not in the baseline are reported but never fail. update rewrites the
+ * baseline from a fresh run.
+ *
+ * The baseline is a flat JSON object, one entry per line:
+ *   "<benchmark> <param>=<value> ...": { "score": 1.5, "unit": "us/op", "allocBytes": 24.0 }
+ * A line that is neither blank, a brace nor such an entry makes check fail,
+ * so a reformatted baseline cannot turn every result into NEW.
+ */
+public class RegressionGate {
+
+	// Hot paths that regressed before, RANDOM and ADVERSARIAL inputs only
+	static final String INCLUDE = "^st\\.(AppSearchBenchmark\\.(kmpSearch|rabinKarp|zAlgorithm|boyerMoore)"
+			+ "|AppDictionaryBenchmark\\.(wordBreak1|concatenatedWords)"
+			+ "|AppDpBenchmark\\.(lcs|editDistance)"
+			+ "|AppPalindromeBenchmark\\.longestPalindromicSubstring)$";
+	static final String[] KINDS = { "RANDOM", "ADVERSARIAL" };
+
+	// Below this many bytes per operation allocation changes are noise (TLAB sampling, boxing in the harness)
+	static final double ALLOC_SLACK = 64;
+
+	private static final Pattern ENTRY = Pattern.compile(
+			"\"([^\"]+)\": \\{ \"score\": ([^,]+), \"unit\": \"([^\"]+)\", \"allocBytes\": ([^ ]+) \\},?");
+
+	static class Measurement {
+		final double score;
+		final String unit;
+		final double allocBytes;
+
+		Measurement(double score, String unit, double allocBytes) {
+			this.score = score;
+			this.unit = unit;
+			this.allocBytes = allocBytes;
+		}
+	}
+
+	public static void main(String[] args) throws IOException, RunnerException {
+		if (args.length < 2 || !(args[0].equals("check") && args.length == 4 || args[0].equals("update"))) {
+			System.err.println("usage: RegressionGate check <baseline> <tolerance> <allocTolerance>");
+			System.err.println("       RegressionGate update <baseline>");
+			System.exit(2);
+		}
+		Path baseline = Paths.get(args[1]);
+		Map<String, Measurement> current = run();
+		if (args[0].equals("update")) {
+			write(baseline, current);
+			System.out.println("Wrote " + current.size() + " entries to " + baseline);
+			return;
+		}
+		int failures = compare(read(baseline), current, Double.parseDouble(args[2]), Double.parseDouble(args[3]));
+		if (failures > 0) {
+			System.out.println(failures + " regression(s) or missing benchmark(s) against " + baseline);
+			System.exit(1);
+		}
+		System.out.println("No regressions against " + baseline);
+	}
+
+	static Map<String, Measurement> run() throws RunnerException {
+		Options options = new OptionsBuilder()
+				.include(INCLUDE)
+				.param("kind", KINDS)
+				.forks(1)
+				.warmupIterations(2)
+				.warmupTime(TimeValue.milliseconds(500))
+				.measurementIterations(3)
+				.measurementTime(TimeValue.milliseconds(500))
+				.addProfiler(GCProfiler.class)
+				.build();
+		Collection<RunResult> results = new Runner(options).run();
+		Map<String, Measurement> measurements = new TreeMap<>();
+		for (RunResult result : results) {
+			Result<?> primary = result.getPrimaryResult();
+			Result<?> alloc = result.getSecondaryResults().get("gc.alloc.rate.norm");
+			measurements.put(key(result.getParams()),
+					new Measurement(primary.getScore(), primary.getScoreUnit(), alloc == null ? 0 : alloc.getScore()));
+		}
+		return measurements;
+	}
+
+	static String key(BenchmarkParams params) {
+		StringBuilder key = new StringBuilder(params.getBenchmark());
+		for (String name : params.getParamsKeys()) {
+			key.append(' ').append(name).append('=').append(params.getParam(name));
+		}
+		return key.toString();
+	}
+
+	// Prints one line per entry and returns the number of regressions, unit changes and missing entries
+	static int compare(Map<String, Measurement> baseline, Map<String, Measurement> current, double tolerance,
+			double allocTolerance) {
+		int failures = 0;
+		System.out.printf("%-80s %12s %12s %8s %12s %12s  %s%n", "benchmark", "baseline", "current", "change",
+				"alloc base", "alloc now", "status");
+		for (Map.Entry<String, Measurement> entry : current.entrySet()) {
+			Measurement now = entry.getValue();
+			Measurement base = baseline.get(entry.getKey());
+			String status;
+			if (base == null) {
+				status = "NEW";
+			} else if (!base.unit.equals(now.unit)) {
+				// Scores in different units cannot be compared, so the entry is not checked
+				status = "UNIT CHANGED, rerun update";
+				failures++;
+			} else {
+				boolean slower = now.score > base.score * (1 + tolerance);
+				boolean allocates = now.allocBytes > base.allocBytes * (1 + allocTolerance) + ALLOC_SLACK;
+				status = slower && allocates ? "SLOWER, ALLOCATES MORE" : slower ? "SLOWER" : allocates ? "ALLOCATES MORE" : "ok";
+				if (slower || allocates) {
+					failures++;
+				}
+			}
+			System.out.printf("%-80s %12s %12.3f %8s %12s %12.1f  %s%n", entry.getKey(),
+					base == null ? "-" : String.format("%.3f", base.score), now.score,
+					base == null ? "-" : String.format("%+.1f%%", 100 * (now.score / base.score - 1)),
+					base == null ? "-" : String.format("%.1f", base.allocBytes), now.allocBytes, status);
+		}
+		// Renamed, deleted or crashed benchmarks must not pass unnoticed
+		for (Map.Entry<String, Measurement> entry : baseline.entrySet()) {
+			if (!current.containsKey(entry.getKey())) {
+				Measurement base = entry.getValue();
+				System.out.printf("%-80s %12.3f %12s %8s %12.1f %12s  %s%n", entry.getKey(), base.score, "-", "-",
+						base.allocBytes, "-", "MISSING");
+				failures++;
+			}
+		}
+		return failures;
+	}
+
+	static Map<String, Measurement> read(Path file) throws IOException {
+		Map<String, Measurement> entries = new TreeMap<>();
+		List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+		for (int i = 0; i < lines.size(); i++) {
+			String line = lines.get(i).trim();
+			if (line.isEmpty() || line.equals("{") || line.equals("}")) {
+				continue;
+			}
+			Matcher matcher = ENTRY.matcher(line);
+			if (!matcher.matches()) {
+				throw new IOException(file + ":" + (i + 1) + ": not a baseline entry: " + line);
+			}
+			try {
+				entries.put(matcher.group(1), new Measurement(Double.parseDouble(matcher.group(2)), matcher.group(3),
+						Double.parseDouble(matcher.group(4))));
+			} catch (NumberFormatException e) {
+				throw new IOException(file + ":" + (i + 1) + ": bad number in baseline entry: " + line, e);
+			}
+		}
+		if (entries.isEmpty()) {
+			throw new IOException(file + ": no baseline entries");
+		}
+		return entries;
+	}
+
+	static void write(Path file, Map<String, Measurement> entries) throws IOException {
+		StringBuilder json = new StringBuilder("{\n");
+		int i = 0;
+		for (Map.Entry<String, Measurement> entry : entries.entrySet()) {
+			Measurement m = entry.getValue();
+			json.append(String.format("  \"%s\": { \"score\": %s, \"unit\": \"%s\", \"allocBytes\": %s }%s%n",
+					entry.getKey(), m.score, m.unit, m.allocBytes, ++i < entries.size() ? "," : ""));
+		}
+		json.append("}\n");
+		Files.write(file, json.toString().getBytes(StandardCharsets.UTF_8));
+	}
+}
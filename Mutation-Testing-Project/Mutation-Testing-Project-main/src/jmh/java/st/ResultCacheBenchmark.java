@@ -0,0 +1,97 @@
+package st;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/*
+ * Replays a Zipf distributed trace of edit distance calls over DISTINCT string
+ * pairs, uncached and through CachedApp at a few capacities. One op is one
+ * call of the trace. The cache keeps its contents across invocations, so the
+ * steady state hit rate is measured, printed at the end of each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResultCacheBenchmark {
+
+	static final int DISTINCT = 4096;
+	static final int TRACE = 1 << 16;
+
+	@Param({ "256", "1024" })
+	int capacity;
+
+	@Param({ "0.8", "1.1" })
+	double skew;
+
+	App app = new App();
+	CachedApp cached;
+	String[] first, second;
+	int[] trace;
+	int next;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(47);
+		first = new String[DISTINCT];
+		second = new String[DISTINCT];
+		for (int i = 0; i < DISTINCT; i++) {
+			first[i] = Inputs.text(Inputs.Kind.LOW_ENTROPY, 24 + random.nextInt(24), random);
+			second[i] = Inputs.text(Inputs.Kind.LOW_ENTROPY, 24 + random.nextInt(24), random);
+		}
+		// Inverse CDF sampling of rank r with weight 1 / r^skew
+		double[] cdf = new double[DISTINCT];
+		double total = 0;
+		for (int r = 0; r < DISTINCT; r++) {
+			total += 1 / Math.pow(r + 1, skew);
+			cdf[r] = total;
+		}
+		trace = new int[TRACE];
+		for (int i = 0; i < TRACE; i++) {
+			int r = Arrays.binarySearch(cdf, random.nextDouble() * total);
+			trace[i] = Math.min(r < 0 ? -r - 1 : r, DISTINCT - 1);
+		}
+		cached = new CachedApp(capacity, Long.MAX_VALUE);
+	}
+
+	@TearDown(Level.Trial)
+	public void report() {
+		if (cached.stats().misses > 0) {
+			System.out.println("capacity=" + capacity + " skew=" + skew + " " + cached.stats());
+		}
+	}
+
+	private int nextPair() {
+		int i = trace[next];
+		next = (next + 1) & (TRACE - 1);
+		return i;
+	}
+
+	@Benchmark
+	public int uncached() {
+		int i = nextPair();
+		String a = first[i], b = second[i];
+		int[][] memo = new int[a.length() + 1][b.length() + 1];
+		for (int[] row : memo) {
+			Arrays.fill(row, -1);
+		}
+		return app.calculateEditDistance(a, b, a.length(), b.length(), memo);
+	}
+
+	@Benchmark
+	public int cached() {
+		int i = nextPair();
+		return cached.calculateEditDistance(first[i], second[i]);
+	}
+}
@@ -0,0 +1,74 @@
+package st;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/*
+ * Comparing every cyclic shift of a buffer with a probe: App.leftrotate copies
+ * for each shift, RotatedView only wraps the buffer. Run with -prof gc for the
+ * allocation side.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RotationBenchmark {
+
+	@Param({ "64", "4096" })
+	int size;
+
+	App app = new App();
+	String buffer;
+	String probe;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(34);
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < size; i++) {
+			sb.append((char) ('a' + random.nextInt(4)));
+		}
+		buffer = sb.toString();
+		probe = app.leftrotate(buffer, size / 3);
+	}
+
+	// Index of the first shift equal to probe, checking 64 shifts
+	@Benchmark
+	public int leftrotate() {
+		for (int n = 0; n < 64; n++) {
+			if (app.leftrotate(buffer, n * size / 64).equals(probe)) {
+				return n;
+			}
+		}
+		return -1;
+	}
+
+	@Benchmark
+	public int rotatedView() {
+		for (int n = 0; n < 64; n++) {
+			RotatedView view = RotatedView.left(buffer, n * size / 64);
+			if (probe.contentEquals(view)) {
+				return n;
+			}
+		}
+		return -1;
+	}
+
+	@Benchmark
+	public boolean isRotation() {
+		return app.isRotation(buffer, probe);
+	}
+
+	@Benchmark
+	public int minimalRotationOffset() {
+		return RotatedView.minimalRotationOffset(buffer);
+	}
+}
@@ -0,0 +1,63 @@
+package st;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/*
+ * App.minStickers against StickerSolver on random 50-sticker instances.
+ * Targets of 15 letters take the subset DP, longer ones the packed BFS.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StickersBenchmark {
+
+	@Param({ "15", "20" })
+	int targetLength;
+
+	// Letters used by stickers and target, a small alphabet means many repeated states
+	@Param({ "26", "6" })
+	int alphabet;
+
+	App app = new App();
+	StickerSolver solver = new StickerSolver();
+	String[] stickers;
+	String target;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(31);
+		stickers = new String[50];
+		for (int i = 0; i < stickers.length; i++) {
+			stickers[i] = randomWord(random, 3 + random.nextInt(8));
+		}
+		target = randomWord(random, targetLength);
+	}
+
+	private String randomWord(Random random, int length) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < length; i++) {
+			sb.append((char) ('a' + random.nextInt(alphabet)));
+		}
+		return sb.toString();
+	}
+
+	@Benchmark
+	public int bfs() {
+		return app.minStickers(stickers, target);
+	}
+
+	@Benchmark
+	public int solver() {
+		return solver.minStickers(stickers, target);
+	}
+}
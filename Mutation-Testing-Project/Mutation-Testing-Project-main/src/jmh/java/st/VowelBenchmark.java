@@ -0,0 +1,61 @@
+package st;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/*
+ * Reversing the vowels of 1M short strings (4..19 chars): one reverseVowel call
+ * per string against one batched call into a reused output buffer.
+ * Run with -prof gc for the allocation side.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class VowelBenchmark {
+
+	static final int COUNT = 1_000_000;
+
+	App app = new App();
+	String[] inputs = new String[COUNT];
+	char[] out;
+	int[] ends = new int[COUNT];
+
+	@Setup
+	public void setup() {
+		Random random = new Random(35);
+		String letters = "abcdefghijklmnopqrstuvwxyzAEIOU";
+		int total = 0;
+		for (int i = 0; i < COUNT; i++) {
+			char[] chars = new char[4 + random.nextInt(16)];
+			for (int k = 0; k < chars.length; k++) {
+				chars[k] = letters.charAt(random.nextInt(letters.length()));
+			}
+			inputs[i] = new String(chars);
+			total += chars.length;
+		}
+		out = new char[total];
+	}
+
+	@Benchmark
+	public int perCall() {
+		int hash = 0;
+		for (String s : inputs) {
+			hash += app.reverseVowel(s).charAt(0);
+		}
+		return hash;
+	}
+
+	@Benchmark
+	public int batched() {
+		int written = app.reverseVowels(inputs, 0, COUNT, out, ends);
+		return written + out[0];
+	}
+}
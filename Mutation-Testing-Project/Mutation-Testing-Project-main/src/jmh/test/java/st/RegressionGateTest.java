@@ -0,0 +1,121 @@
+package st;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for the baseline file and the comparison of the regression gate.
+ */
+public class RegressionGateTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static Map<String, RegressionGate.Measurement> entries(Object... keysAndMeasurements) {
+        Map<String, RegressionGate.Measurement> entries = new TreeMap<>();
+        for (int i = 0; i < keysAndMeasurements.length; i += 2) {
+            entries.put((String) keysAndMeasurements[i], (RegressionGate.Measurement) keysAndMeasurements[i + 1]);
+        }
+        return entries;
+    }
+
+    private static RegressionGate.Measurement us(double score, double allocBytes) {
+        return new RegressionGate.Measurement(score, "us/op", allocBytes);
+    }
+
+    private Path baseline(String... lines) throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private void assertUnreadable(Path file) {
+        try {
+            RegressionGate.read(file);
+            fail("read " + file);
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith(file.toString()));
+        }
+    }
+
+    @Test
+    public void testWriteThenReadRoundTrips() throws IOException {
+        Map<String, RegressionGate.Measurement> written = entries(
+                "st.AppDpBenchmark.lcs kind=RANDOM size=64", us(1.5, 24),
+                "st.AppDpBenchmark.lcs kind=ADVERSARIAL size=64", new RegressionGate.Measurement(0.125, "ns/op", 0),
+                "st.AppSearchBenchmark.kmpSearch kind=RANDOM size=65536", us(335.0353371881184, 327835.90600952995));
+        Path file = folder.newFile().toPath();
+        RegressionGate.write(file, written);
+        Map<String, RegressionGate.Measurement> read = RegressionGate.read(file);
+        assertEquals(written.keySet(), read.keySet());
+        for (Map.Entry<String, RegressionGate.Measurement> entry : written.entrySet()) {
+            RegressionGate.Measurement m = read.get(entry.getKey());
+            assertEquals(entry.getValue().score, m.score, 0);
+            assertEquals(entry.getValue().unit, m.unit);
+            assertEquals(entry.getValue().allocBytes, m.allocBytes, 0);
+        }
+    }
+
+    @Test
+    public void testReadSkipsBlankLinesAndIndentation() throws IOException {
+        Path file = baseline("", "{",
+                "\t\"a x=1\": { \"score\": 2.0, \"unit\": \"us/op\", \"allocBytes\": 8.0 },", "",
+                "\"b x=1\": { \"score\": 3.0, \"unit\": \"us/op\", \"allocBytes\": 0.0 }  ", "}", "");
+        assertEquals(2, RegressionGate.read(file).size());
+    }
+
+    @Test
+    public void testCommittedBaselineParses() throws IOException {
+        Path file = Paths.get("src/jmh/baseline/gate-baseline.json");
+        long entries = Files.readAllLines(file, StandardCharsets.UTF_8).stream().filter(l -> l.contains("\"score\"")).count();
+        assertEquals(entries, RegressionGate.read(file).size());
+    }
+
+    @Test
+    public void testReadRejectsLinesItCannotParse() throws IOException {
+        // Reformatted by a JSON tool: several lines per entry
+        assertUnreadable(baseline("{", "  \"a x=1\": {", "    \"score\": 2.0,", "    \"unit\": \"us/op\",",
+                "    \"allocBytes\": 8.0", "  }", "}"));
+        // Keys in another order
+        assertUnreadable(baseline("{", "  \"a x=1\": { \"unit\": \"us/op\", \"score\": 2.0, \"allocBytes\": 8.0 }", "}"));
+        assertUnreadable(baseline("{", "  \"a x=1\": { \"score\": fast, \"unit\": \"us/op\", \"allocBytes\": 8.0 }", "}"));
+        // One bad line among good ones
+        assertUnreadable(baseline("{", "  \"a x=1\": { \"score\": 2.0, \"unit\": \"us/op\", \"allocBytes\": 8.0 },",
+                "  // b was flaky", "}"));
+        assertUnreadable(baseline("{", "}"));
+        assertUnreadable(baseline(""));
+    }
+
+    @Test
+    public void testCompareCountsRegressions() {
+        Map<String, RegressionGate.Measurement> baseline = entries("same", us(10, 1000), "slower", us(10, 1000),
+                "allocates", us(10, 1000), "both", us(10, 1000), "noise", us(10, 0));
+        Map<String, RegressionGate.Measurement> current = entries("same", us(12, 1100), "slower", us(12.6, 1000),
+                "allocates", us(10, 1165), "both", us(20, 2000), "noise", us(10, 64));
+        assertEquals(3, RegressionGate.compare(baseline, current, 0.25, 0.10));
+        assertEquals(0, RegressionGate.compare(baseline, current, 1.0, 1.0));
+    }
+
+    @Test
+    public void testCompareFailsOnUnitChangeAndMissingButNotNew() {
+        Map<String, RegressionGate.Measurement> baseline = entries("ok", us(10, 0), "unit", us(10, 0),
+                "missing", us(10, 0));
+        Map<String, RegressionGate.Measurement> current = entries("ok", us(10, 0),
+                "unit", new RegressionGate.Measurement(0.001, "ms/op", 0), "new", us(1000, 1000000));
+        assertEquals(2, RegressionGate.compare(baseline, current, 0.25, 0.10));
+        assertEquals(0, RegressionGate.compare(entries("ok", us(10, 0)), entries("ok", us(10, 0), "new", us(1, 0)),
+                0.25, 0.10));
+    }
+}
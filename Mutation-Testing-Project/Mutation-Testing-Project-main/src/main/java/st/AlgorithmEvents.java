@@ -0,0 +1,196 @@
+package st;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/*
+ * Flight Recorder events for algorithm runs. Each run begins an event before
+ * the work and calls finish after it, which only fills in and commits the
+ * event while a recording has it enabled and the run took longer than the
+ * event threshold. Without a recording isEnabled() is false and the JIT drops
+ * the event allocation, so an instrumented call costs a flag check.
+ *
+ * Default thresholds keep short calls out of a recording, override them per
+ * recording, with a + since the events are not in the JDK .jfc files, e.g.
+ *   -XX:StartFlightRecording:filename=app.jfr,+st.Search#threshold=0ms
+ *
+ * Work counters are -1 where the implementation does not count them.
+ */
+public final class AlgorithmEvents {
+
+	private AlgorithmEvents() {
+	}
+
+	@Name("st.Search")
+	@Label("Search")
+	@Category({ "Algorithms", "Search" })
+	@Description("Pattern search in a text or key search in an array")
+	@Threshold("100 us")
+	@StackTrace(false)
+	public static class Search extends Event {
+		@Label("Algorithm")
+		String algorithm;
+
+		@Label("Text Length")
+		long textLength;
+
+		@Label("Pattern Length")
+		long patternLength;
+
+		@Label("Result")
+		@Description("Index of the match, -1 or the algorithm's not found value")
+		long result;
+
+		@Label("Comparisons")
+		@Description("Character or key comparisons")
+		long comparisons = -1;
+
+		@Label("Hash Verifications")
+		@Description("Hash hits checked char by char, Rabin-Karp only")
+		long hashVerifications = -1;
+
+		public void finish(String algorithm, long textLength, long patternLength, long result) {
+			finish(algorithm, textLength, patternLength, result, -1, -1);
+		}
+
+		public void finish(String algorithm, long textLength, long patternLength, long result, long comparisons,
+				long hashVerifications) {
+			end();
+			if (shouldCommit()) {
+				this.algorithm = algorithm;
+				this.textLength = textLength;
+				this.patternLength = patternLength;
+				this.result = result;
+				this.comparisons = comparisons;
+				this.hashVerifications = hashVerifications;
+				commit();
+			}
+		}
+	}
+
+	@Name("st.DynamicProgramming")
+	@Label("Dynamic Programming")
+	@Category({ "Algorithms", "Dynamic Programming" })
+	@Description("DP or memoized recursion over one or two sequences")
+	@Threshold("100 us")
+	@StackTrace(false)
+	public static class DynamicProgramming extends Event {
+		@Label("Algorithm")
+		String algorithm;
+
+		@Label("First Size")
+		long firstSize;
+
+		@Label("Second Size")
+		@Description("Size of the second sequence, 0 for one-sequence DPs")
+		long secondSize;
+
+		@Label("Table Cells")
+		@Description("Cells of the DP table, an upper bound for the memoized recursions")
+		long cells;
+
+		@Label("Result")
+		@Description("Numeric result, 0 or 1 for booleans, the number of results for lists")
+		long result;
+
+		public void finish(String algorithm, long firstSize, long secondSize, long cells, long result) {
+			end();
+			if (shouldCommit()) {
+				this.algorithm = algorithm;
+				this.firstSize = firstSize;
+				this.secondSize = secondSize;
+				this.cells = cells;
+				this.result = result;
+				commit();
+			}
+		}
+	}
+
+	@Name("st.Solver")
+	@Label("Solver")
+	@Category({ "Algorithms", "Search" })
+	@Description("State space search, minStickers and kSimilarity")
+	@Threshold("1 ms")
+	@StackTrace(false)
+	public static class Solver extends Event {
+		@Label("Algorithm")
+		String algorithm;
+
+		@Label("Input Size")
+		@Description("Length of the target or of the strings")
+		long inputSize;
+
+		@Label("Choices")
+		@Description("Stickers for minStickers, 0 otherwise")
+		long choices;
+
+		@Label("Result")
+		long result;
+
+		@Label("States Expanded")
+		long statesExpanded = -1;
+
+		@Label("States Stored")
+		@Description("States held in the visited set or transposition table at the end")
+		long statesStored = -1;
+
+		public void finish(String algorithm, long inputSize, long choices, long result, long statesExpanded,
+				long statesStored) {
+			end();
+			if (shouldCommit()) {
+				this.algorithm = algorithm;
+				this.inputSize = inputSize;
+				this.choices = choices;
+				this.result = result;
+				this.statesExpanded = statesExpanded;
+				this.statesStored = statesStored;
+				commit();
+			}
+		}
+	}
+
+	@Name("st.IndexBuild")
+	@Label("Index Build")
+	@Category({ "Algorithms", "Index" })
+	@Description("Construction of a dictionary, trie or palindrome index")
+	@Threshold("0 ms")
+	@StackTrace(false)
+	public static class IndexBuild extends Event {
+		@Label("Structure")
+		String structure;
+
+		@Label("Entries")
+		@Description("Distinct words, or text length for a text index")
+		long entries;
+
+		@Label("Input Chars")
+		long inputChars;
+
+		@Label("Nodes")
+		@Description("Trie nodes or dictionary blocks, -1 when the structure has none")
+		long nodes = -1;
+
+		@Label("Memory")
+		@DataAmount
+		@Description("Estimated heap of the structure, -1 when not estimated")
+		long memoryBytes = -1;
+
+		public void finish(String structure, long entries, long inputChars, long nodes, long memoryBytes) {
+			end();
+			if (shouldCommit()) {
+				this.structure = structure;
+				this.entries = entries;
+				this.inputChars = inputChars;
+				this.nodes = nodes;
+				this.memoryBytes = memoryBytes;
+				commit();
+			}
+		}
+	}
+}
@@ -0,0 +1,336 @@
+package st;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Runs App algorithms as jobs, one virtual thread per job, so a job that
+ * waits (for a permit, or in code it calls) does not hold a platform thread.
+ *
+ * At most maxConcurrency jobs run at once, the others wait for a permit on
+ * their own virtual thread. A job may have a timeout, counted from submission,
+ * so time spent waiting for a permit counts. A job that times out or is
+ * cancelled completes at once with TIMED_OUT or CANCELLED and its thread is
+ * interrupted. The wordBreak2, minStickers and kSimilarity jobs run under a
+ * Budget, which polls the interrupt, and stop. Other App code does not, so
+ * such a job keeps its permit until it returns and its result is dropped.
+ * Virtual threads are not preempted: a CPU bound job keeps its carrier thread
+ * until it returns or blocks, so on few cores long solver jobs delay the rest.
+ *
+ * runAll is structured: it returns only when every job of the batch has an
+ * outcome, in job order, and a batch timeout or an interrupt of the caller
+ * stops the jobs still running.
+ */
+public final class AlgorithmExecutor implements AutoCloseable {
+
+	public enum Status {
+		DONE, FAILED, TIMED_OUT, CANCELLED
+	}
+
+	public static final class Job<T> {
+		final String name;
+		final Callable<T> task;
+		// Nanoseconds from submission, 0 for none
+		final long timeoutNanos;
+
+		private Job(String name, Callable<T> task, long timeoutNanos) {
+			this.name = name;
+			this.task = task;
+			this.timeoutNanos = timeoutNanos;
+		}
+
+		public static <T> Job<T> of(String name, Callable<T> task) {
+			return new Job<>(name, task, 0);
+		}
+
+		public static Job<Integer> search(String pattern, String text) {
+			return of("search", () -> APP.search(pattern, text));
+		}
+
+		public static Job<Integer> editDistance(String str1, String str2) {
+			return of("editDistance", () -> {
+				int[][] memo = new int[str1.length() + 1][str2.length() + 1];
+				for (int[] row : memo) {
+					Arrays.fill(row, -1);
+				}
+				return APP.calculateEditDistance(str1, str2, str1.length(), str2.length(), memo);
+			});
+		}
+
+		public static Job<Integer> lcs(String x, String y) {
+			return of("LCS", () -> APP.LCS(x.toCharArray(), y.toCharArray(), x.length(), y.length()));
+		}
+
+		public static Job<List<String>> wordBreak2(String s, List<String> wordDict) {
+			return of("wordBreak2", () -> {
+				Budget.Result<List<String>> result = APP.wordBreak2(s, wordDict, Budget.unlimited());
+				if (!result.isDone()) {
+					throw new CancellationException("wordBreak2 interrupted");
+				}
+				return result.value;
+			});
+		}
+
+		public static Job<Integer> kSimilarity(String s1, String s2) {
+			return of("kSimilarity", () -> new KSimilaritySolver().kSimilarity(s1, s2));
+		}
+
+		public static Job<Integer> minStickers(String[] stickers, String target) {
+			return of("minStickers", () -> new StickerSolver().minStickers(stickers, target));
+		}
+
+		public Job<T> withTimeout(Duration timeout) {
+			return new Job<>(name, task, Math.max(1, timeout.toNanos()));
+		}
+
+		public String name() {
+			return name;
+		}
+	}
+
+	public static final class Outcome<T> {
+		public final String job;
+		public final Status status;
+		// Set when DONE
+		public final T value;
+		// Set when FAILED
+		public final Throwable error;
+		// From submission to the outcome
+		public final long elapsedNanos;
+
+		Outcome(String job, Status status, T value, Throwable error, long elapsedNanos) {
+			this.job = job;
+			this.status = status;
+			this.value = value;
+			this.error = error;
+			this.elapsedNanos = elapsedNanos;
+		}
+
+		@Override
+		public String toString() {
+			return job + " " + status + (status == Status.DONE ? " " + value : "")
+					+ (error != null ? " " + error : "");
+		}
+	}
+
+	// A submitted job
+	public final class Handle<T> {
+		private final Job<T> job;
+		private final long submitted = System.nanoTime();
+		private final CompletableFuture<Outcome<T>> outcome = new CompletableFuture<>();
+		private volatile Thread runner;
+		private volatile ScheduledFuture<?> timer;
+
+		private Handle(Job<T> job) {
+			this.job = job;
+		}
+
+		public boolean cancel() {
+			return stop(Status.CANCELLED);
+		}
+
+		public boolean isDone() {
+			return outcome.isDone();
+		}
+
+		// Waits for the outcome, an interrupt of the caller cancels the job
+		public Outcome<T> join() throws InterruptedException {
+			try {
+				return outcome.get();
+			} catch (InterruptedException e) {
+				cancel();
+				throw e;
+			} catch (ExecutionException e) {
+				// outcome is only ever completed normally
+				throw new IllegalStateException(e);
+			}
+		}
+
+		public CompletableFuture<Outcome<T>> future() {
+			return outcome;
+		}
+
+		boolean stop(Status status) {
+			if (!complete(status, null, null)) {
+				return false;
+			}
+			Thread thread = runner;
+			if (thread != null) {
+				thread.interrupt();
+			}
+			return true;
+		}
+
+		private boolean complete(Status status, T value, Throwable error) {
+			Outcome<T> result = new Outcome<>(job.name, status, value, error, System.nanoTime() - submitted);
+			if (outcome.isDone()) {
+				return false;
+			}
+			// Removed first, so a caller that sees the outcome also sees pending() without it
+			pending.remove(this);
+			if (!outcome.complete(result)) {
+				return false;
+			}
+			ScheduledFuture<?> t = timer;
+			if (t != null) {
+				t.cancel(false);
+			}
+			return true;
+		}
+
+		private void run() {
+			runner = Thread.currentThread();
+			if (outcome.isDone()) {
+				return;
+			}
+			try {
+				permits.acquire();
+			} catch (InterruptedException e) {
+				// Stopped while waiting, the outcome is already set
+				return;
+			}
+			running.incrementAndGet();
+			try {
+				if (!outcome.isDone()) {
+					complete(Status.DONE, job.task.call(), null);
+				}
+			} catch (CancellationException | InterruptedException e) {
+				// Interrupted by stop, which set the outcome, unless the job cancelled itself
+				complete(Status.CANCELLED, null, null);
+			} catch (Throwable e) {
+				complete(Status.FAILED, null, e);
+			} finally {
+				running.decrementAndGet();
+				permits.release();
+			}
+		}
+	}
+
+	static final App APP = new App();
+
+	private final int maxConcurrency;
+	private final Semaphore permits;
+	private final ThreadFactory threads = Thread.ofVirtual().factory();
+	private final ScheduledThreadPoolExecutor timers;
+	private final Set<Handle<?>> pending = ConcurrentHashMap.newKeySet();
+	private final AtomicInteger running = new AtomicInteger();
+	private volatile boolean closed;
+
+	public AlgorithmExecutor(int maxConcurrency) {
+		if (maxConcurrency <= 0) {
+			throw new IllegalArgumentException("maxConcurrency must be positive");
+		}
+		this.maxConcurrency = maxConcurrency;
+		this.permits = new Semaphore(maxConcurrency);
+		this.timers = new ScheduledThreadPoolExecutor(1, r -> {
+			Thread t = new Thread(r, "st-job-timer");
+			t.setDaemon(true);
+			return t;
+		});
+		timers.setRemoveOnCancelPolicy(true);
+	}
+
+	public <T> Handle<T> submit(Job<T> job) {
+		return submit(job, job.timeoutNanos);
+	}
+
+	private <T> Handle<T> submit(Job<T> job, long timeoutNanos) {
+		Handle<T> handle = new Handle<>(job);
+		pending.add(handle);
+		// Added before reading closed, so a close() in between cancels it either way
+		if (closed) {
+			handle.stop(Status.CANCELLED);
+			return handle;
+		}
+		if (timeoutNanos > 0) {
+			try {
+				handle.timer = timers.schedule(() -> handle.stop(Status.TIMED_OUT), timeoutNanos,
+						TimeUnit.NANOSECONDS);
+			} catch (RejectedExecutionException e) {
+				// Closed since the check above
+				handle.stop(Status.CANCELLED);
+				return handle;
+			}
+		}
+		threads.newThread(handle::run).start();
+		return handle;
+	}
+
+	// Outcomes of the jobs in order, each job limited to its own timeout
+	public <T> List<Outcome<T>> runAll(List<? extends Job<? extends T>> jobs) throws InterruptedException {
+		return runAll(jobs, null);
+	}
+
+	// Same, and the batch as a whole limited to batchTimeout
+	@SuppressWarnings("unchecked")
+	public <T> List<Outcome<T>> runAll(List<? extends Job<? extends T>> jobs, Duration batchTimeout)
+			throws InterruptedException {
+		long batch = batchTimeout == null ? 0 : Math.max(1, batchTimeout.toNanos());
+		List<Handle<? extends T>> handles = new ArrayList<>(jobs.size());
+		for (Job<? extends T> job : jobs) {
+			long timeout = batch == 0 ? job.timeoutNanos
+					: job.timeoutNanos == 0 ? batch : Math.min(batch, job.timeoutNanos);
+			handles.add(submit(job, timeout));
+		}
+		CompletableFuture<?>[] futures = new CompletableFuture<?>[handles.size()];
+		for (int i = 0; i < futures.length; i++) {
+			futures[i] = handles.get(i).outcome;
+		}
+		// One wait for the whole batch, instead of a wake up of the caller per job
+		try {
+			CompletableFuture.allOf(futures).get();
+		} catch (InterruptedException e) {
+			for (Handle<? extends T> handle : handles) {
+				handle.cancel();
+			}
+			throw e;
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e);
+		}
+		List<Outcome<T>> outcomes = new ArrayList<>(handles.size());
+		for (Handle<? extends T> handle : handles) {
+			// Outcomes are immutable, so Outcome<? extends T> is safe as Outcome<T>
+			outcomes.add((Outcome<T>) handle.outcome.join());
+		}
+		return outcomes;
+	}
+
+	public int maxConcurrency() {
+		return maxConcurrency;
+	}
+
+	// Jobs holding a permit right now
+	public int running() {
+		return running.get();
+	}
+
+	// Jobs submitted and without an outcome yet
+	public int pending() {
+		return pending.size();
+	}
+
+	// Cancels every job without an outcome, later submissions are cancelled at once
+	@Override
+	public void close() {
+		closed = true;
+		for (Handle<?> handle : pending) {
+			handle.cancel();
+		}
+		timers.shutdownNow();
+	}
+}
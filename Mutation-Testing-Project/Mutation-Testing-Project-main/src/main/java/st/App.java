@@ -1,6 +1,12 @@
 package st;
 
+import java.nio.CharBuffer;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
 public class App {
 
@@ -125,7 +131,7 @@ public class App {
 		return -1;
 	}
 
-	public int KMPSearch(String pattern, String text) {
+	public int KMPSearch(CharSequence pattern, CharSequence text) {
 		int patternLength = pattern.length();
 		int textLength = text.length();
 
@@ -172,6 +178,11 @@ public class App {
 		return -1; // No match found
 	}
 
+	// Same result as KMPSearch, through the algorithm AdaptiveSearch picks for these inputs
+	public int search(CharSequence pattern, CharSequence text) {
+		return AdaptiveSearch.search(pattern, text);
+	}
+
 
 	int LCS(char[] X, char[] Y, int m, int n) {
 		int L[][] = new int[m + 1][n + 1];
@@ -218,10 +229,35 @@ public class App {
 		return max(lps(seq, i, j - 1), lps(seq, i + 1, j));
 	}
 
+	// lps of the whole sequence, one budget step per recursive call. No partial value, null unless DONE
+	public Budget.Result<Integer> lps(char[] seq, Budget budget) {
+		try {
+			return budget.result(seq.length == 0 ? 0 : lps(seq, 0, seq.length - 1, budget), -1);
+		} catch (Budget.Exhausted e) {
+			return budget.result(null, -1);
+		}
+	}
+
+	private int lps(char[] seq, int i, int j, Budget budget) {
+		budget.check();
+		if (i == j) {
+			return 1;
+		}
+		if (seq[i] == seq[j] && i + 1 == j) {
+			return 2;
+		}
+		if (seq[i] == seq[j]) {
+			return lps(seq, i + 1, j - 1, budget) + 2;
+		}
+		return max(lps(seq, i, j - 1, budget), lps(seq, i + 1, j, budget));
+	}
+
 	int superSeq(String X, String Y, int n, int m, int[][] lookup) {
 
 		if (m == 0 || n == 0) {
+			// Also covers n == m == 0, where n + m is 0 and would read as "not computed"
 			lookup[n][m] = n + m;
+			return lookup[n][m];
 		}
 
 		if (lookup[n][m] == 0)
@@ -285,6 +321,74 @@ public class App {
 		return strings[0].substring(0, index);
 	}
 
+	// Vertical scan: compares column by column and never reorders the caller's array
+	String longestCommonPrefixScan(String[] strings) {
+		if (strings.length == 0) {
+			return "";
+		}
+		return strings[0].substring(0, commonPrefixLength(strings, 0, strings.length));
+	}
+
+	// Length of the common prefix of strings[from..to), with early exit on the first mismatching column
+	static int commonPrefixLength(String[] strings, int from, int to) {
+		String first = strings[from];
+		int prefix = first.length();
+		for (int i = from + 1; i < to && prefix > 0; i++) {
+			String s = strings[i];
+			int limit = Math.min(prefix, s.length());
+			int index = 0;
+			while (index < limit && s.charAt(index) == first.charAt(index)) {
+				index++;
+			}
+			prefix = index;
+		}
+		return prefix;
+	}
+
+	// Divide and conquer over the fork/join pool for very large arrays, does not mutate the input
+	String longestCommonPrefixParallel(String[] strings) {
+		if (strings.length == 0) {
+			return "";
+		}
+		int prefix = ForkJoinPool.commonPool().invoke(new CommonPrefixTask(strings, 0, strings.length));
+		return strings[0].substring(0, prefix);
+	}
+
+	static class CommonPrefixTask extends RecursiveTask<Integer> {
+		private static final long serialVersionUID = 1L;
+		static final int THRESHOLD = 8192;
+
+		final String[] strings;
+		final int from, to;
+
+		CommonPrefixTask(String[] strings, int from, int to) {
+			this.strings = strings;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected Integer compute() {
+			if (to - from <= THRESHOLD) {
+				return commonPrefixLength(strings, from, to);
+			}
+			int mid = (from + to) >>> 1;
+			CommonPrefixTask right = new CommonPrefixTask(strings, mid, to);
+			right.fork();
+			int leftPrefix = new CommonPrefixTask(strings, from, mid).compute();
+			int rightPrefix = right.join();
+
+			// Both halves are described by their first string, merge by comparing those
+			int limit = Math.min(leftPrefix, rightPrefix);
+			String a = strings[from], b = strings[mid];
+			int index = 0;
+			while (index < limit && a.charAt(index) == b.charAt(index)) {
+				index++;
+			}
+			return index;
+		}
+	}
+
 	int findLongestValidParentheses(String str, int length) {
 		// Track counts of opening and closing parentheses
 		int openCount = 0, closeCount = 0;
@@ -334,6 +438,11 @@ public class App {
 		return maxLength;
 	}
 
+	// Same result as findLongestValidParentheses, prefix-sum formulation on the common fork/join pool
+	int findLongestValidParenthesesParallel(String str, int length) {
+		return (int) ParenthesesScanner.longestPrefixSum(str.subSequence(0, length), ForkJoinPool.commonPool())[1];
+	}
+
 	public int calculateEditDistance(String str1, String str2, int len1, int len2, int[][] memo) {
 		// Base cases: if one string is empty, return the length of the other
 		if (len1 == 0) {
@@ -370,16 +479,147 @@ public class App {
 			return null;
 		}
 
+		int transformedLength = 2 * length + 1;
+		int[] lpsArray = palindromeLengths(input);
+		int maxLPSLength = 0;
+		int maxLPSCenter = 0;
+
+		for (int pos = 2; pos < transformedLength; pos++) {
+			// Update the maximum LPS length and center if needed
+			if (lpsArray[pos] > maxLPSLength) {
+				maxLPSLength = lpsArray[pos];
+				maxLPSCenter = pos;
+			}
+		}
+
+		// Calculate the start and end indices of the longest palindromic substring
+		int start = (maxLPSCenter - maxLPSLength) / 2;
+		int end = start + maxLPSLength - 1;
+
+		return input.substring(start, end + 1);
+	}
+
+	/*
+	 * Same as findLongestPalindromicSubstring, but surrogate pairs are treated as one symbol.
+	 * Keeps its results on purpose, also when no palindrome is longer than one symbol: then
+	 * the second symbol is returned ("ab" gives "b") and a single symbol gives "".
+	 * PalindromeIndex.longestPalindrome returns a one char palindrome in both cases.
+	 */
+	public String findLongestPalindromicSubstringByCodePoint(String input) {
+		int length = input.length();
+		if (length == 0) {
+			return null;
+		}
+
+		// starts[k] is the char offset of code point k, starts[count] == length
+		int count = input.codePointCount(0, length);
+		int[] starts = new int[count + 1];
+		for (int k = 0, offset = 0; k < count; k++) {
+			starts[k] = offset;
+			offset += Character.charCount(input.codePointAt(offset));
+		}
+		starts[count] = length;
+
+		int[] lpsArray = palindromeLengths(count,
+				(i, j) -> input.codePointAt(starts[i]) == input.codePointAt(starts[j]));
+		int[] best = longestPalindrome(lpsArray);
+		return input.substring(starts[best[0]], starts[best[0] + best[1]]);
+	}
+
+	public int[] findLongestPalindromicSubstring(byte[] utf8) {
+		return findLongestPalindromicSubstring(utf8, 0, utf8.length);
+	}
+
+	/*
+	 * Longest palindrome of code points directly on a UTF-8 buffer, without decoding it.
+	 * Two code points are equal exactly when their UTF-8 sequences are equal, so symbols
+	 * are compared byte by byte. Returns {byte offset, byte length} of the palindrome,
+	 * picked like findLongestPalindromicSubstringByCodePoint: when no palindrome is longer
+	 * than one code point that is the second one, and length 0 for a single code point.
+	 */
+	public int[] findLongestPalindromicSubstring(byte[] utf8, int offset, int length) {
+		int end = offset + length;
+		int firstNonAscii = offset;
+		while (firstNonAscii < end && utf8[firstNonAscii] >= 0) {
+			firstNonAscii++;
+		}
+		if (firstNonAscii == end) {
+			// Pure ASCII: every byte is a symbol of its own
+			int[] lpsArray = palindromeLengths(length, (i, j) -> utf8[offset + i] == utf8[offset + j]);
+			int[] best = longestPalindrome(lpsArray);
+			return new int[] { offset + best[0], best[1] };
+		}
+
+		// Every byte that is not a continuation byte (10xxxxxx) starts a code point
+		int[] starts = new int[length + 1];
+		int count = 0;
+		for (int i = offset; i < end; i++) {
+			if ((utf8[i] & 0xC0) != 0x80 || count == 0) {
+				starts[count++] = i;
+			}
+		}
+		starts[count] = end;
+
+		int[] lpsArray = palindromeLengths(count, (i, j) -> {
+			int a = starts[i], b = starts[j];
+			int size = starts[i + 1] - a;
+			if (utf8[a] != utf8[b] || size != starts[j + 1] - b) {
+				return false;
+			}
+			for (int k = 1; k < size; k++) {
+				if (utf8[a + k] != utf8[b + k]) {
+					return false;
+				}
+			}
+			return true;
+		});
+		int[] best = longestPalindrome(lpsArray);
+		return new int[] { starts[best[0]], starts[best[0] + best[1]] - starts[best[0]] };
+	}
+
+	/*
+	 * Returns {start, length} in symbols of the longest palindrome described by lpsArray.
+	 * Scans like findLongestPalindromicSubstring(String): from position 2, so the first
+	 * symbol alone is never picked, and the first of equally long palindromes wins.
+	 */
+	private int[] longestPalindrome(int[] lpsArray) {
+		int maxLPSLength = 0;
+		int maxLPSCenter = 0;
+		for (int pos = 2; pos < lpsArray.length; pos++) {
+			if (lpsArray[pos] > maxLPSLength) {
+				maxLPSLength = lpsArray[pos];
+				maxLPSCenter = pos;
+			}
+		}
+		return new int[] { (maxLPSCenter - maxLPSLength) / 2, maxLPSLength };
+	}
+
+	// Equality of the symbols at two positions, lets the Manacher core run over chars, code points or bytes
+	interface Symbols {
+		boolean same(int i, int j);
+	}
+
+	int[] palindromeLengths(String input) {
+		return palindromeLengths(input.length(), (i, j) -> input.charAt(i) == input.charAt(j));
+	}
+
+	/*
+	 * Manacher's algorithm. Position 2i+1 of the returned array is symbol i,
+	 * even positions are the gaps between symbols, and every entry holds the
+	 * length of the longest palindrome centered there.
+	 */
+	int[] palindromeLengths(int length, Symbols symbols) {
 		// Transform the string to accommodate palindromes of both even and odd lengths
 		int transformedLength = 2 * length + 1;
 		int[] lpsArray = new int[transformedLength];
+		if (length == 0) {
+			return lpsArray;
+		}
 		lpsArray[0] = 0;
 		lpsArray[1] = 1;
 
 		int currentCenter = 1; // Center of the current palindrome
 		int rightBoundary = 2; // Right boundary of the current palindrome
-		int maxLPSLength = 0;
-		int maxLPSCenter = 0;
 
 		for (int pos = 2; pos < transformedLength; pos++) {
 			// Calculate the mirrored position of pos with respect to the current center
@@ -396,16 +636,10 @@ public class App {
 			// Attempt to expand the palindrome centered at pos
 			while ((pos + lpsArray[pos] + 1 < transformedLength && pos - lpsArray[pos] - 1 >= 0) &&
 					((pos + lpsArray[pos] + 1) % 2 == 0 ||
-							input.charAt((pos + lpsArray[pos] + 1) / 2) == input.charAt((pos - lpsArray[pos] - 1) / 2))) {
+							symbols.same((pos + lpsArray[pos] + 1) / 2, (pos - lpsArray[pos] - 1) / 2))) {
 				lpsArray[pos]++;
 			}
 
-			// Update the maximum LPS length and center if needed
-			if (lpsArray[pos] > maxLPSLength) {
-				maxLPSLength = lpsArray[pos];
-				maxLPSCenter = pos;
-			}
-
 			// Adjust the center and right boundary if the palindrome at pos extends beyond the current right boundary
 			if (pos + lpsArray[pos] > rightBoundary) {
 				currentCenter = pos;
@@ -413,11 +647,7 @@ public class App {
 			}
 		}
 
-		// Calculate the start and end indices of the longest palindromic substring
-		int start = (maxLPSCenter - maxLPSLength) / 2;
-		int end = start + maxLPSLength - 1;
-
-		return input.substring(start, end + 1);
+		return lpsArray;
 	}
 
 
@@ -854,6 +1084,100 @@ public class App {
 		return sum;
 	}
 
+	/*
+	 * KVowelWords with long arithmetic in O(N) time and O(K) memory. With c[i] the
+	 * words of length i ending in a consonant (c[0] = 1 for the empty word), the
+	 * words of length i ending in a run of j vowels number 5^j * c[i - j], so
+	 *   sum[i] = 26 * sum[i - 1] - 5^(K + 1) * c[i - K - 1]
+	 * and only the last K + 1 values of c are kept, in a ring.
+	 */
+	int KVowelWordsRolling(long N, int K) {
+		final long MOD = 1000000007;
+		long[] consonantEnded = new long[K + 1];
+		consonantEnded[0] = 1;
+		long sum = 1;
+		long dropFactor = powerMod(5, K + 1, MOD);
+		for (long i = 1; i <= N; i++) {
+			int slot = (int) (i % (K + 1));
+			// Slot still holds c[i - K - 1], or 0 while i <= K
+			long dropped = dropFactor * consonantEnded[slot] % MOD;
+			consonantEnded[slot] = 21 * sum % MOD;
+			sum = (26 * sum - dropped + MOD) % MOD;
+		}
+		return (int) sum;
+	}
+
+	/*
+	 * KVowelWords by exponentiation of the (K + 1) x (K + 1) transition matrix over
+	 * the length of the trailing vowel run, O(K^3 log N) time and O(K^2) memory,
+	 * so N up to 10^18 is fine for moderate K.
+	 */
+	int KVowelWordsMatrix(long N, int K) {
+		final long MOD = 1000000007;
+		// step[j][0] = 21 (a consonant ends the run), step[j][j + 1] = 5 (a vowel extends it)
+		long[][] step = new long[K + 1][K + 1];
+		for (int j = 0; j <= K; j++) {
+			step[j][0] = 21;
+			if (j < K) {
+				step[j][j + 1] = 5;
+			}
+		}
+		// Row vector of the counts per run length, starting with the empty word
+		long[] counts = new long[K + 1];
+		counts[0] = 1;
+		for (long n = N; n > 0; n >>= 1) {
+			if ((n & 1) != 0) {
+				counts = multiplyMod(new long[][] { counts }, step, MOD)[0];
+			}
+			if (n > 1) {
+				step = multiplyMod(step, step, MOD);
+			}
+		}
+		long sum = 0;
+		for (long count : counts) {
+			sum += count;
+		}
+		return (int) (sum % MOD);
+	}
+
+	// a * b mod m for entries below m, 0 < m < 2^31
+	static long[][] multiplyMod(long[][] a, long[][] b, long m) {
+		if (m <= 0 || m > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("modulus out of range: " + m);
+		}
+		// Products are below m^2 < 2^62, partial sums are kept below the largest multiple
+		// of m^2 that still leaves room for one more product (8 m^2 for m = 1e9 + 7)
+		long square = m * m;
+		long limit = (Long.MAX_VALUE / square - 1) * square;
+		int rows = a.length, inner = b.length, cols = b[0].length;
+		long[][] product = new long[rows][cols];
+		for (int i = 0; i < rows; i++) {
+			long[] row = product[i];
+			for (int k = 0; k < inner; k++) {
+				long x = a[i][k];
+				if (x == 0) {
+					continue;
+				}
+				long[] bk = b[k];
+				for (int j = 0; j < cols; j++) {
+					row[j] += x * bk[j];
+					if (row[j] >= limit) {
+						row[j] -= limit;
+					}
+				}
+			}
+			for (int j = 0; j < cols; j++) {
+				row[j] %= m;
+			}
+		}
+		return product;
+	}
+
+	// x^y mod p with long intermediates, p < 2^31
+	static long powerMod(long x, long y, long p) {
+		return ModArithmetic.pow(x, y, p);
+	}
+
 	String leftrotate(String str1, int n) {
 
 		// creating extended string and index for new
@@ -872,39 +1196,95 @@ public class App {
 	}
 	// LEFT AND RIGHT ROTATION OF A STRING
 
+	// b is a rotation of a iff b occurs in a + a, searched here in a cyclic view of a instead of a copy
+	boolean isRotation(String a, String b) {
+		if (a.length() != b.length()) {
+			return false;
+		}
+		if (a.isEmpty()) {
+			return true;
+		}
+		return KMPSearch(b, new RotatedView(a, 0, 2 * a.length() - 1)) >= 0;
+	}
+
+	// Bit (c - 64) is set for every vowel c, all of them lie in 64..127
+	static final long VOWEL_MASK = 1L << ('A' - 64) | 1L << ('E' - 64) | 1L << ('I' - 64) | 1L << ('O' - 64)
+			| 1L << ('U' - 64) | 1L << ('a' - 64) | 1L << ('e' - 64) | 1L << ('i' - 64) | 1L << ('o' - 64)
+			| 1L << ('u' - 64);
+
 	boolean isVowel(char c) {
-		return (c == 'a' || c == 'A' || c == 'e'
-				|| c == 'E' || c == 'i' || c == 'I'
-				|| c == 'o' || c == 'O' || c == 'u'
-				|| c == 'U');
+		return (c & ~63) == 64 && ((VOWEL_MASK >>> (c & 63)) & 1) != 0;
 	}
 
 	String reverseVowel(String str) {
+		char[] str1 = str.toCharArray();
+		reverseVowels(str1, 0, str1.length);
+		String str2 = String.copyValueOf(str1);
+		return str2;
+	}
+
+	// In place over buf[from..to)
+	void reverseVowels(char[] buf, int from, int to) {
 		// Start two indexes from two corners
 		// and move toward each other
-		int i = 0;
-		int j = str.length() - 1;
-		char[] str1 = str.toCharArray();
+		int i = from;
+		int j = to - 1;
 		while (i < j) {
-			if (!isVowel(str1[i])) {
+			char left = buf[i];
+			if (!isVowel(left)) {
 				i++;
 				continue;
 			}
-			if (!isVowel(str1[j])) {
+			char right = buf[j];
+			if (!isVowel(right)) {
 				j--;
 				continue;
 			}
 
 			// swapping
-			char t = str1[i];
-			str1[i] = str1[j];
-			str1[j] = t;
+			buf[i++] = right;
+			buf[j--] = left;
+		}
+	}
 
-			i++;
-			j--;
+	// In place over the remaining chars of buf (position to limit), the position is not moved
+	void reverseVowels(CharBuffer buf) {
+		if (buf.hasArray()) {
+			int from = buf.arrayOffset() + buf.position();
+			reverseVowels(buf.array(), from, from + buf.remaining());
+			return;
+		}
+		int i = buf.position();
+		int j = buf.limit() - 1;
+		while (i < j) {
+			if (!isVowel(buf.get(i))) {
+				i++;
+			} else if (!isVowel(buf.get(j))) {
+				j--;
+			} else {
+				char t = buf.get(i);
+				buf.put(i++, buf.get(j));
+				buf.put(j--, t);
+			}
 		}
-		String str2 = String.copyValueOf(str1);
-		return str2;
+	}
+
+	/*
+	 * Batch form of reverseVowel: inputs[from..to) are copied back to back into out
+	 * and transformed there, ends[k] receives the end offset of inputs[from + k].
+	 * Returns the number of chars written. out must hold the total input length.
+	 */
+	int reverseVowels(String[] inputs, int from, int to, char[] out, int[] ends) {
+		int pos = 0;
+		for (int k = from; k < to; k++) {
+			String s = inputs[k];
+			int end = pos + s.length();
+			s.getChars(0, s.length(), out, pos);
+			reverseVowels(out, pos, end);
+			ends[k - from] = end;
+			pos = end;
+		}
+		return pos;
 	}
 
 	// Horspool BM algorithm pattern searching
@@ -943,6 +1323,50 @@ public class App {
 		return -1;
 	}
 
+	/*
+	 * Repeated string match without building the repeated text: KMP runs over a as
+	 * an infinite cyclic sequence (text index i is a.charAt(i % a.length())). A match
+	 * must start inside the first copy of a, so at most |a| + |b| - 1 text characters
+	 * are read, any char values are allowed and only the |b| failure table is allocated.
+	 */
+	int repeatedStringMatchCyclic(String a, String b) {
+		int n = b.length();
+		if (n == 0)
+			return 0;
+		int period = a.length();
+		if (period == 0)
+			return -1;
+
+		// Failure function of b, as in KMPSearch
+		int[] lps = new int[n];
+		for (int i = 1, len = 0; i < n; ) {
+			if (b.charAt(i) == b.charAt(len)) {
+				lps[i++] = ++len;
+			} else if (len != 0) {
+				len = lps[len - 1];
+			} else {
+				lps[i++] = 0;
+			}
+		}
+
+		int limit = period + n - 1;
+		int matched = 0;
+		for (int i = 0, pos = 0; i < limit; i++) {
+			char c = a.charAt(pos);
+			while (matched > 0 && b.charAt(matched) != c)
+				matched = lps[matched - 1];
+			if (b.charAt(matched) == c)
+				matched++;
+			if (matched == n) {
+				// The match ends at text index i, so it needs copies up to and including i / period
+				return i / period + 1;
+			}
+			if (++pos == period)
+				pos = 0;
+		}
+		return -1;
+	}
+
 	int horspool(char[] ar, int m, int n, int rep, int[] shifts, char[] pat) {
 		int i = n - 1;
 
@@ -969,7 +1393,7 @@ public class App {
 		return res;
 	}
 
-	private boolean dfs(final String word, int length, final boolean[] visited, final Set<String> dictionary) {
+	private boolean dfs(final String word, int length, final boolean[] visited, final Predicate<String> dictionary) {
 		if (length == word.length()) {
 			return true;
 		}
@@ -983,7 +1407,7 @@ public class App {
 		int end = (length == 0) ? word.length() - 1 : word.length();
 		for (int i = end; i > length; --i) {
 			String currentSubstring = word.substring(length, i);
-			if (dictionary.contains(currentSubstring) && dfs(word, i, visited, dictionary)) {
+			if (dictionary.test(currentSubstring) && dfs(word, i, visited, dictionary)) {
 				return true;
 			}
 		}
@@ -999,7 +1423,22 @@ public class App {
 			final int length = word.length();
 			final boolean[] visited = new boolean[length];
 
-			if (dfs(word, 0, visited, dictionary)) {
+			if (dfs(word, 0, visited, dictionary::contains)) {
+				answer.add(word);
+			}
+		}
+
+		return answer;
+	}
+
+	// Same as above over a front-coded dictionary, words come out in sorted order
+	public List<String> findAllConcatenatedWordsInADict(FrontCodedDictionary dictionary) {
+		final List<String> answer = new ArrayList<>();
+
+		for (final String word : dictionary) {
+			final boolean[] visited = new boolean[word.length()];
+
+			if (dfs(word, 0, visited, dictionary::contains)) {
 				answer.add(word);
 			}
 		}
@@ -1013,7 +1452,16 @@ public class App {
 		return util1(0, s.length() - 1, s, dict, dp);
 	}
 
+	public boolean wordBreak1(String s, FrontCodedDictionary wordDict) {
+		Map<String, Boolean> dp = new HashMap<>();
+		return util1(0, s.length() - 1, s, wordDict::contains, dp);
+	}
+
 	public boolean util1(int i, int j, String s, Set<String> dict, Map<String, Boolean> dp) {
+		return util1(i, j, s, (Predicate<String>) dict::contains, dp);
+	}
+
+	boolean util1(int i, int j, String s, Predicate<String> dict, Map<String, Boolean> dp) {
 		if (i > j) {
 			return true;
 		}
@@ -1023,7 +1471,7 @@ public class App {
 			return dp.get(key);
 		}
 
-		if (dict.contains(s.substring(i, j + 1))) {
+		if (dict.test(s.substring(i, j + 1))) {
 			dp.put(key, true);
 			return true;
 		}
@@ -1045,7 +1493,40 @@ public class App {
 		return util2(0, s.length() - 1, s, dict, dp);
 	}
 
+	public List<String> wordBreak2(String s, FrontCodedDictionary wordDict) {
+		Map<String, List<String>> dp = new HashMap<>();
+		return util2(0, s.length() - 1, s, wordDict::contains, dp);
+	}
+
+	/*
+	 * wordBreak2 with one budget step per subproblem and per sentence built, the
+	 * sentences being what grows exponentially. No partial value, null unless
+	 * DONE. stored is the number of memoized subproblems.
+	 */
+	public Budget.Result<List<String>> wordBreak2(String s, List<String> wordDict, Budget budget) {
+		Map<String, List<String>> dp = new HashMap<>();
+		Set<String> dict = new HashSet<>(wordDict);
+		try {
+			return budget.result(util2(0, s.length() - 1, s, dict::contains, dp, budget), dp.size());
+		} catch (Budget.Exhausted e) {
+			return budget.result(null, dp.size());
+		}
+	}
+
 	public List<String> util2(int i, int j, String s, Set<String> dict, Map<String, List<String>> dp) {
+		return util2(i, j, s, (Predicate<String>) dict::contains, dp);
+	}
+
+	List<String> util2(int i, int j, String s, Predicate<String> dict, Map<String, List<String>> dp) {
+		return util2(i, j, s, dict, dp, null);
+	}
+
+	// A null budget is never checked
+	private List<String> util2(int i, int j, String s, Predicate<String> dict, Map<String, List<String>> dp,
+			Budget budget) {
+		if (budget != null) {
+			budget.check();
+		}
 		if (i > j) {
 			List<String> ret = new ArrayList<>();
 			ret.add(""); // Add an empty string to indicate a valid break
@@ -1060,12 +1541,15 @@ public class App {
 		Set<String> retList = new HashSet<>();
 
 		for (int br = i; br <= j - 1; br++) {
-			List<String> left = util2(i, br, s, dict, dp);
-			List<String> right = util2(br + 1, j, s, dict, dp);
+			List<String> left = util2(i, br, s, dict, dp, budget);
+			List<String> right = util2(br + 1, j, s, dict, dp, budget);
 
 			if (!left.isEmpty() && !right.isEmpty()) {
 				for (String l : left) {
 					for (String r : right) {
+						if (budget != null) {
+							budget.check();
+						}
 						String toAdd = l + " " + r;
 						retList.add(toAdd);
 					}
@@ -1076,7 +1560,7 @@ public class App {
 		List<String> ret = new ArrayList<>(retList);
 
 		// Check if the substring from i to j is a valid word in the dictionary
-		if (dict.contains(s.substring(i, j + 1))) {
+		if (dict.test(s.substring(i, j + 1))) {
 			ret.add(s.substring(i, j + 1));
 		}
 
@@ -1175,12 +1659,26 @@ public class App {
 		for (int i = 0; i < words.length; i++) {
 			map.put(words[i], i);
 		}
+		return palindromePairs(words.length, i -> words[i], word -> map.getOrDefault(word, -1));
+	}
+
+	// Pairs of ordinals, the dictionary itself serves as the word -> index map
+	public List<List<Integer>> palindromePairs(FrontCodedDictionary words) {
+		if (words.size() == 0) {
+			return new ArrayList<List<Integer>>();
+		}
+		return palindromePairs(words.size(), words::get, words::ordinal);
+	}
+
+	// indexOf returns a negative value for words that are not in the set
+	private List<List<Integer>> palindromePairs(int count, IntFunction<String> words, ToIntFunction<String> indexOf) {
+		List<List<Integer>> res = new ArrayList<List<Integer>>();
 
 		// special cases: "" can be combine with any palindrome string
-		if (map.containsKey("")) {
-			int blankIdx = map.get("");
-			for (int i = 0; i < words.length; i++) {
-				if (isPalindrome(words[i])) {
+		int blankIdx = indexOf.applyAsInt("");
+		if (blankIdx >= 0) {
+			for (int i = 0; i < count; i++) {
+				if (isPalindrome(words.apply(i))) {
 					if (i == blankIdx)
 						continue;
 					res.add(Arrays.asList(blankIdx, i));
@@ -1190,10 +1688,10 @@ public class App {
 		}
 
 		// find all string and reverse string pairs
-		for (int i = 0; i < words.length; i++) {
-			String cur_r = reverseStr(words[i]);
-			if (map.containsKey(cur_r)) {
-				int found = map.get(cur_r);
+		for (int i = 0; i < count; i++) {
+			String cur_r = reverseStr(words.apply(i));
+			int found = indexOf.applyAsInt(cur_r);
+			if (found >= 0) {
 				if (found == i)
 					continue;
 				res.add(Arrays.asList(i, found));
@@ -1203,13 +1701,13 @@ public class App {
 		// find the pair s1, s2 that
 		// case1 : s1[0:cut] is palindrome and s1[cut+1:] = reverse(s2) => (s2, s1)
 		// case2 : s1[cut+1:] is palindrome and s1[0:cut] = reverse(s2) => (s1, s2)
-		for (int i = 0; i < words.length; i++) {
-			String cur = words[i];
+		for (int i = 0; i < count; i++) {
+			String cur = words.apply(i);
 			for (int cut = 1; cut < cur.length(); cut++) {
 				if (isPalindrome(cur.substring(0, cut))) {
 					String cut_r = reverseStr(cur.substring(cut));
-					if (map.containsKey(cut_r)) {
-						int found = map.get(cut_r);
+					int found = indexOf.applyAsInt(cut_r);
+					if (found >= 0) {
 						if (found == i)
 							continue;
 						res.add(Arrays.asList(found, i));
@@ -1217,8 +1715,8 @@ public class App {
 				}
 				if (isPalindrome(cur.substring(cut))) {
 					String cut_r = reverseStr(cur.substring(0, cut));
-					if (map.containsKey(cut_r)) {
-						int found = map.get(cut_r);
+					int found = indexOf.applyAsInt(cut_r);
+					if (found >= 0) {
 						if (found == i)
 							continue;
 						res.add(Arrays.asList(i, found));
@@ -1249,6 +1747,15 @@ public class App {
 	}
 
 	public int minStickers(String[] stickers, String target) {
+		return minStickers(Arrays.asList(stickers), stickers.length, target, null);
+	}
+
+	public int minStickers(FrontCodedDictionary stickers, String target) {
+		return minStickers(stickers, stickers.size(), target, null);
+	}
+
+	// A null budget is never checked, otherwise the BFS level reached is returned once it runs out
+	int minStickers(Iterable<String> stickers, int stickerCount, String target, Budget budget) {
 		// Optimization 1: Maintain frequency only for characters present in target
 		int[] targetNaiveCount = new int[26];
 		for (char c : target.toCharArray())
@@ -1263,18 +1770,20 @@ public class App {
 			if (c > 0) {
 				targetCount[t++] = c;
 			}
-		int[][] stickersCount = new int[stickers.length][N];
-		for (int i = 0; i < stickers.length; i++) {
-			for (char c : stickers[i].toCharArray()) {
+		int[][] stickersCount = new int[stickerCount][N];
+		int row = 0;
+		for (String sticker : stickers) {
+			for (char c : sticker.toCharArray()) {
 				int j = index[c - 'a'];
 				if (j >= 0)
-					stickersCount[i][j]++;
+					stickersCount[row][j]++;
 			}
+			row++;
 		}
 		// Optimization 2: Remove stickers dominated by some other sticker
 		int start = 0;
-		for (int i = 0; i < stickers.length; i++) {
-			for (int j = start; j < stickers.length; j++)
+		for (int i = 0; i < stickerCount; i++) {
+			for (int j = start; j < stickerCount; j++)
 				if (j != i) {
 					int k = 0;
 					while (k < N && stickersCount[i][k] <= stickersCount[j][k])
@@ -1297,12 +1806,15 @@ public class App {
 			int size = Q.size();
 			while (size-- > 0) {
 				int[] freq = Q.poll();
+				if (budget != null && !budget.step()) {
+					return steps;
+				}
 				String cur = toString(freq);
 				if (visited.add(cur)) {
 					// Optimization 3: Only use stickers that are capable of removing first
 					// character from current string
 					int first = cur.charAt(0) - 'a';
-					for (int i = start; i < stickers.length; i++)
+					for (int i = start; i < stickerCount; i++)
 						if (stickersCount[i][first] != 0) {
 							int[] next = freq.clone();
 							for (int j = 0; j < N; j++)
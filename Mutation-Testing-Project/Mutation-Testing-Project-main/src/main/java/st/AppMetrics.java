@@ -0,0 +1,180 @@
+package st;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/*
+ * Per-method invocation counters, latency and input-size histograms for the
+ * algorithms called through MeteredApp. Off by default, -Dst.metrics=true or
+ * setEnabled(true) (also over JMX) turns it on. While off a metered call costs
+ * one volatile read and a branch, nothing is recorded or allocated.
+ */
+public final class AppMetrics {
+
+	private static volatile boolean enabled = Boolean.getBoolean("st.metrics");
+
+	private static final ConcurrentMap<String, Method> METHODS = new ConcurrentHashMap<>();
+
+	public static final String OBJECT_NAME = "st:type=AppMetrics";
+
+	private AppMetrics() {
+	}
+
+	public static boolean enabled() {
+		return enabled;
+	}
+
+	public static void setEnabled(boolean on) {
+		enabled = on;
+	}
+
+	// Metrics of one method, created on first use and shared by name
+	public static Method method(String name) {
+		return METHODS.computeIfAbsent(name, Method::new);
+	}
+
+	// Snapshot of every method that has metrics, sorted by name
+	public static Map<String, MethodSnapshot> snapshot() {
+		Map<String, MethodSnapshot> snapshot = new TreeMap<>();
+		for (Method method : METHODS.values()) {
+			snapshot.put(method.name, method.snapshot());
+		}
+		return snapshot;
+	}
+
+	public static void reset() {
+		for (Method method : METHODS.values()) {
+			method.reset();
+		}
+	}
+
+	// Registers the MXBean with the platform MBean server, once
+	public static ObjectName register() {
+		try {
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			if (!server.isRegistered(name)) {
+				try {
+					server.registerMBean(new Bean(), name);
+				} catch (InstanceAlreadyExistsException e) {
+					// Registered concurrently
+				}
+			}
+			return name;
+		} catch (JMException e) {
+			throw new IllegalStateException("cannot register " + OBJECT_NAME, e);
+		}
+	}
+
+	public static class Method {
+		final String name;
+		final LongAdder calls = new LongAdder();
+		final LogHistogram latency = new LogHistogram();
+		final LogHistogram sizes = new LogHistogram();
+
+		Method(String name) {
+			this.name = name;
+		}
+
+		// One completed call that started at startNanos (System.nanoTime) on an input of size, no-op while disabled
+		public void record(long startNanos, long size) {
+			if (!enabled) {
+				return;
+			}
+			long elapsed = System.nanoTime() - startNanos;
+			calls.increment();
+			latency.record(elapsed);
+			sizes.record(size);
+		}
+
+		public MethodSnapshot snapshot() {
+			return new MethodSnapshot(name, calls.sum(), latency.snapshot(), sizes.snapshot());
+		}
+
+		void reset() {
+			calls.reset();
+			latency.reset();
+			sizes.reset();
+		}
+	}
+
+	public static class MethodSnapshot {
+		public final String name;
+		public final long calls;
+		public final LogHistogram.Snapshot latencyNanos;
+		public final LogHistogram.Snapshot inputSize;
+
+		MethodSnapshot(String name, long calls, LogHistogram.Snapshot latencyNanos, LogHistogram.Snapshot inputSize) {
+			this.name = name;
+			this.calls = calls;
+			this.latencyNanos = latencyNanos;
+			this.inputSize = inputSize;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s calls=%d p50=%dns p99=%dns max=%dns size p50=%d max=%d", name, calls,
+					latencyNanos.valueAt(0.5), latencyNanos.valueAt(0.99), latencyNanos.max(), inputSize.valueAt(0.5),
+					inputSize.max());
+		}
+	}
+
+	static class Bean implements AppMetricsMXBean {
+
+		@Override
+		public boolean isEnabled() {
+			return AppMetrics.enabled();
+		}
+
+		@Override
+		public void setEnabled(boolean on) {
+			AppMetrics.setEnabled(on);
+		}
+
+		@Override
+		public String[] getMethods() {
+			return snapshot().keySet().toArray(new String[0]);
+		}
+
+		@Override
+		public Map<String, Long> getInvocations() {
+			Map<String, Long> invocations = new TreeMap<>();
+			for (Method method : METHODS.values()) {
+				invocations.put(method.name, method.calls.sum());
+			}
+			return invocations;
+		}
+
+		@Override
+		public long invocations(String method) {
+			Method m = METHODS.get(method);
+			return m == null ? 0 : m.calls.sum();
+		}
+
+		@Override
+		public long latencyNanos(String method, double quantile) {
+			Method m = METHODS.get(method);
+			return m == null ? 0 : m.latency.snapshot().valueAt(quantile);
+		}
+
+		@Override
+		public long inputSize(String method, double quantile) {
+			Method m = METHODS.get(method);
+			return m == null ? 0 : m.sizes.snapshot().valueAt(quantile);
+		}
+
+		@Override
+		public void reset() {
+			AppMetrics.reset();
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package st;
+
+import java.util.Map;
+
+/*
+ * JMX view of AppMetrics, registered as st:type=AppMetrics. Latencies are in
+ * nanoseconds, quantiles between 0 and 1, unknown methods read as 0.
+ */
+public interface AppMetricsMXBean {
+
+	boolean isEnabled();
+
+	void setEnabled(boolean enabled);
+
+	String[] getMethods();
+
+	Map<String, Long> getInvocations();
+
+	long invocations(String method);
+
+	long latencyNanos(String method, double quantile);
+
+	long inputSize(String method, double quantile);
+
+	void reset();
+}
@@ -0,0 +1,374 @@
+package st;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/*
+ * Streams records through one App algorithm and writes one result line per
+ * record, in input order.
+ *
+ *   BatchRunner --algorithm NAME [--threads N] [--batch N] [--queue N]
+ *               [--timeout MS] [--max-steps N] [file ...]
+ *
+ * A record is a line, its fields are separated by tabs. Lists (dictionaries,
+ * stickers) are one field of comma separated words, list results are written
+ * joined by '|'. With no files, or "-", records are read from stdin.
+ *
+ * The reader thread cuts the input into batches of --batch records and hands
+ * them to --threads workers. Futures of the batches go through a queue of
+ * --queue entries to a writer thread, which waits for them in order, so the
+ * output keeps the input order and at most --queue batches are in memory.
+ * A full queue blocks the reader. A record that fails gives "ERROR <exception>"
+ * and the run goes on, also on a StackOverflowError or OutOfMemoryError. Other
+ * errors end the run. --timeout and --max-steps give every record of the
+ * budgeted algorithms (wordBreak2, lps, minStickers, kSimilarity) a Budget, a
+ * record that runs out of it gives the Budget status, e.g. TIMED_OUT.
+ *
+ * The summary goes to stderr: records, errors, stopped records, time and
+ * throughput.
+ */
+public class BatchRunner {
+
+	static final int BUFFER = 1 << 16;
+	static final int DEFAULT_BATCH = 256;
+
+	interface Algorithm {
+		Object apply(String[] fields, Budget budget);
+	}
+
+	static final class Entry {
+		final int fields;
+		final String usage;
+		final Algorithm algorithm;
+
+		Entry(int fields, String usage, Algorithm algorithm) {
+			this.fields = fields;
+			this.usage = usage;
+			this.algorithm = algorithm;
+		}
+	}
+
+	private static final App APP = new App();
+	static final Map<String, Entry> ALGORITHMS = new LinkedHashMap<>();
+
+	static {
+		register("search", "pattern text", f -> APP.search(f[0], f[1]));
+		register("KMPSearch", "pattern text", f -> APP.KMPSearch(f[0], f[1]));
+		register("rabinKarp", "pattern text", f -> APP.rabinKarp(f[0], f[1], SearchReport.DEFAULT_PRIME));
+		register("ZAlgorithm", "text pattern", f -> APP.ZAlgorithm(f[0], f[1]));
+		register("BoyerMoore", "text pattern", f -> APP.BoyerMoore(f[0].toCharArray(), f[1].toCharArray()));
+		register("editDistance", "a b", f -> {
+			int[][] memo = new int[f[0].length() + 1][f[1].length() + 1];
+			for (int[] row : memo) {
+				Arrays.fill(row, -1);
+			}
+			return APP.calculateEditDistance(f[0], f[1], f[0].length(), f[1].length(), memo);
+		});
+		register("LCS", "a b", f -> APP.LCS(f[0].toCharArray(), f[1].toCharArray(), f[0].length(), f[1].length()));
+		register("SequenceAlignment", "a b mismatchPenalty gapPenalty",
+				f -> APP.SequenceAlignment(f[0], f[1], Integer.parseInt(f[2]), Integer.parseInt(f[3])));
+		register("isRotation", "a b", f -> APP.isRotation(f[0], f[1]));
+		register("repeatedStringMatch", "a b", f -> APP.repeatedStringMatch(f[0], f[1]));
+		register("longestPalindrome", "s", f -> APP.findLongestPalindromicSubstring(f[0]));
+		register("isPalindrome", "s", f -> APP.isPalindrome(f[0]));
+		register("minPalPartition", "s", f -> APP.minPalPartition(f[0]));
+		register("longestValidParentheses", "s", f -> APP.findLongestValidParentheses(f[0], f[0].length()));
+		register("reverseVowel", "s", f -> APP.reverseVowel(f[0]));
+		register("wordBreak1", "s words", f -> APP.wordBreak1(f[0], words(f[1])));
+		ALGORITHMS.put("wordBreak2", new Entry(2, "s words",
+				(f, budget) -> APP.wordBreak2(f[0], words(f[1]), budget).value));
+		ALGORITHMS.put("lps", new Entry(1, "s", (f, budget) -> APP.lps(f[0].toCharArray(), budget).value));
+		ALGORITHMS.put("minStickers", new Entry(2, "target stickers",
+				(f, budget) -> new StickerSolver().minStickers(words(f[1]).toArray(new String[0]), f[0], budget).value));
+		ALGORITHMS.put("kSimilarity", new Entry(2, "a b",
+				(f, budget) -> new KSimilaritySolver().kSimilarity(f[0], f[1], budget).value));
+	}
+
+	// An algorithm without a budget
+	private static void register(String name, String usage, Function<String[], Object> f) {
+		ALGORITHMS.put(name, new Entry(usage.split(" ").length, usage, (fields, budget) -> f.apply(fields)));
+	}
+
+	private static List<String> words(String field) {
+		return field.isEmpty() ? List.of() : Arrays.asList(field.split(","));
+	}
+
+	static final class Options {
+		String algorithm;
+		int threads = Runtime.getRuntime().availableProcessors();
+		int batch = DEFAULT_BATCH;
+		// 0 for twice the threads
+		int queue;
+		long timeoutMillis;
+		long maxSteps;
+		final List<String> inputs = new ArrayList<>();
+
+		static Options parse(String[] args) {
+			Options options = new Options();
+			for (int i = 0; i < args.length; i++) {
+				switch (args[i]) {
+				case "--algorithm":
+					options.algorithm = value(args, ++i);
+					break;
+				case "--threads":
+					options.threads = positive(args, ++i);
+					break;
+				case "--batch":
+					options.batch = positive(args, ++i);
+					break;
+				case "--queue":
+					options.queue = positive(args, ++i);
+					break;
+				case "--timeout":
+					options.timeoutMillis = positive(args, ++i);
+					break;
+				case "--max-steps":
+					options.maxSteps = positive(args, ++i);
+					break;
+				default:
+					if (args[i].startsWith("--")) {
+						throw new IllegalArgumentException("unknown option " + args[i]);
+					}
+					options.inputs.add(args[i]);
+				}
+			}
+			if (options.algorithm == null || !ALGORITHMS.containsKey(options.algorithm)) {
+				throw new IllegalArgumentException("unknown algorithm " + options.algorithm);
+			}
+			if (options.queue == 0) {
+				options.queue = 2 * options.threads;
+			}
+			return options;
+		}
+
+		private static String value(String[] args, int i) {
+			if (i >= args.length) {
+				throw new IllegalArgumentException("missing value for " + args[i - 1]);
+			}
+			return args[i];
+		}
+
+		private static int positive(String[] args, int i) {
+			int n = Integer.parseInt(value(args, i));
+			if (n <= 0) {
+				throw new IllegalArgumentException(args[i - 1] + " must be positive");
+			}
+			return n;
+		}
+
+		Budget budget() {
+			if (timeoutMillis > 0) {
+				return Budget.of(Duration.ofMillis(timeoutMillis), maxSteps > 0 ? maxSteps : Long.MAX_VALUE);
+			}
+			return maxSteps > 0 ? Budget.ofSteps(maxSteps) : Budget.unlimited();
+		}
+	}
+
+	static final class Summary {
+		long records, chars, errors, stopped, batches, nanos;
+
+		String format(Options options) {
+			double seconds = Math.max(nanos, 1) / 1e9;
+			return String.format(
+					"%s: %d records in %.1f ms, %.0f records/s, %.1f M chars/s, %d threads, batch %d, %d batches, %d errors, %d stopped",
+					options.algorithm, records, nanos / 1e6, records / seconds, chars / seconds / 1e6,
+					options.threads, options.batch, batches, errors, stopped);
+		}
+	}
+
+	// Results of one batch, in record order
+	private static final class Batch {
+		final String[] results;
+		int errors, stopped;
+
+		Batch(int size) {
+			results = new String[size];
+		}
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		Options options;
+		try {
+			options = Options.parse(args);
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.err.println(usage());
+			System.exit(2);
+			return;
+		}
+		List<BufferedReader> inputs = new ArrayList<>();
+		if (options.inputs.isEmpty()) {
+			options.inputs.add("-");
+		}
+		Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), BUFFER);
+		try {
+			for (String input : options.inputs) {
+				inputs.add(open(input));
+			}
+			Summary summary = run(options, inputs, out);
+			System.err.println(summary.format(options));
+		} finally {
+			for (BufferedReader input : inputs) {
+				input.close();
+			}
+		}
+	}
+
+	static String usage() {
+		StringBuilder sb = new StringBuilder(
+				"usage: BatchRunner --algorithm NAME [--threads N] [--batch N] [--queue N] [--timeout MS] [--max-steps N] [file ...]\n"
+						+ "algorithms, with their tab separated fields:\n");
+		for (Map.Entry<String, Entry> e : ALGORITHMS.entrySet()) {
+			sb.append("  ").append(e.getKey()).append('\t').append(e.getValue().usage).append('\n');
+		}
+		return sb.toString();
+	}
+
+	// Malformed UTF-8 is replaced rather than failing the whole run
+	static BufferedReader open(String input) throws IOException {
+		if (input.equals("-")) {
+			return new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), BUFFER);
+		}
+		FileChannel channel = FileChannel.open(Paths.get(input));
+		return new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE), BUFFER),
+				BUFFER);
+	}
+
+	// Reads every input in turn, writes the results to out and flushes it
+	static Summary run(Options options, List<BufferedReader> inputs, Writer out)
+			throws IOException, InterruptedException {
+		Entry entry = ALGORITHMS.get(options.algorithm);
+		Summary summary = new Summary();
+		long started = System.nanoTime();
+		ExecutorService workers = Executors.newFixedThreadPool(options.threads);
+		BlockingQueue<Future<Batch>> queue = new ArrayBlockingQueue<>(options.queue);
+		Future<Batch> end = CompletableFuture.completedFuture(null);
+		FutureTask<Void> writer = new FutureTask<>(() -> {
+			write(queue, out, summary);
+			return null;
+		});
+		Thread writerThread = new Thread(writer, "st-batch-writer");
+		writerThread.start();
+		try {
+			String[] lines = new String[options.batch];
+			int size = 0;
+			read: for (BufferedReader input : inputs) {
+				for (String line = input.readLine(); line != null; line = input.readLine()) {
+					summary.records++;
+					summary.chars += line.length() + 1;
+					lines[size++] = line;
+					if (size == lines.length) {
+						if (!enqueue(queue, workers, entry, options, lines, size, writer)) {
+							break read;
+						}
+						lines = new String[options.batch];
+						size = 0;
+					}
+				}
+			}
+			if (size > 0 && !writer.isDone()) {
+				enqueue(queue, workers, entry, options, lines, size, writer);
+			}
+			while (!queue.offer(end, 10, TimeUnit.MILLISECONDS) && !writer.isDone()) {
+				// Writer still busy
+			}
+			writer.get();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			workers.shutdownNow();
+			writerThread.interrupt();
+		}
+		summary.nanos = System.nanoTime() - started;
+		return summary;
+	}
+
+	// False when the writer stopped, so the reader should stop too
+	private static boolean enqueue(BlockingQueue<Future<Batch>> queue, ExecutorService workers, Entry entry,
+			Options options, String[] lines, int size, Future<Void> writer) throws InterruptedException {
+		Future<Batch> batch = workers.submit(() -> process(entry, options, lines, size));
+		while (!queue.offer(batch, 10, TimeUnit.MILLISECONDS)) {
+			if (writer.isDone()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static Batch process(Entry entry, Options options, String[] lines, int size) {
+		Batch batch = new Batch(size);
+		for (int i = 0; i < size; i++) {
+			String[] fields = lines[i].split("\t", -1);
+			Budget budget = options.budget();
+			try {
+				if (fields.length < entry.fields) {
+					throw new IllegalArgumentException("expected " + entry.fields + " fields: " + entry.usage);
+				}
+				Object result = entry.algorithm.apply(fields, budget);
+				if (budget.status() != Budget.Status.DONE) {
+					batch.results[i] = budget.status().name();
+					batch.stopped++;
+				} else {
+					batch.results[i] = result instanceof List ? String.join("|", stringList(result)) : String.valueOf(result);
+				}
+			} catch (RuntimeException | StackOverflowError | OutOfMemoryError e) {
+				// A record too deep for the recursive App code or too large for its memo fails alone
+				batch.results[i] = "ERROR " + e;
+				batch.errors++;
+			}
+		}
+		return batch;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<String> stringList(Object list) {
+		return (List<String>) list;
+	}
+
+	private static void write(BlockingQueue<Future<Batch>> queue, Writer out, Summary summary)
+			throws IOException, InterruptedException, ExecutionException {
+		while (true) {
+			Batch batch = queue.take().get();
+			if (batch == null) {
+				break;
+			}
+			for (String result : batch.results) {
+				out.write(result);
+				out.write('\n');
+			}
+			summary.batches++;
+			summary.errors += batch.errors;
+			summary.stopped += batch.stopped;
+		}
+		out.flush();
+	}
+}
@@ -0,0 +1,140 @@
+package st;
+
+import java.time.Duration;
+
+/*
+ * Work limit for one call of a budgeted solver: a timeout, a step limit, or
+ * both. The solver calls step() once per unit of work (an expanded state, a
+ * recursive call). Every step compares against the step limit, and on the
+ * first step and every POLL_INTERVAL steps after it the clock and the thread's
+ * interrupt are read too, so the check stays cheap in hot loops. An interrupt
+ * stops the call even without a timeout, so Budget.unlimited() gives a call
+ * that can be cancelled.
+ *
+ * Once exhausted a budget stays exhausted. A Budget belongs to one call on
+ * one thread, the timeout runs from its creation.
+ */
+public final class Budget {
+
+	public enum Status {
+		DONE, TIMED_OUT, STEP_LIMIT, CANCELLED
+	}
+
+	public static final class Result<T> {
+		public final Status status;
+		// The answer when DONE, otherwise what the solver documents (a bound, or null)
+		public final T value;
+		public final long steps;
+		// States or memo entries held at the end, -1 when the solver keeps none
+		public final long stored;
+		// Since the budget was created
+		public final long elapsedNanos;
+
+		Result(Status status, T value, long steps, long stored, long elapsedNanos) {
+			this.status = status;
+			this.value = value;
+			this.steps = steps;
+			this.stored = stored;
+			this.elapsedNanos = elapsedNanos;
+		}
+
+		public boolean isDone() {
+			return status == Status.DONE;
+		}
+
+		@Override
+		public String toString() {
+			return status + " value=" + value + " steps=" + steps + " stored=" + stored + " elapsedNanos="
+					+ elapsedNanos;
+		}
+	}
+
+	// Thrown by check() to unwind a recursive solver, without a stack trace
+	static final class Exhausted extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		private Exhausted() {
+			super("budget exhausted", null, false, false);
+		}
+	}
+
+	static final int POLL_INTERVAL = 1024;
+	private static final Exhausted EXHAUSTED = new Exhausted();
+
+	private final long started = System.nanoTime();
+	// 0 for none
+	private final long timeoutNanos;
+	private final long maxSteps;
+	private long steps;
+	private Status status = Status.DONE;
+
+	private Budget(long timeoutNanos, long maxSteps) {
+		if (maxSteps < 0) {
+			throw new IllegalArgumentException("negative step limit");
+		}
+		this.timeoutNanos = timeoutNanos;
+		this.maxSteps = maxSteps;
+	}
+
+	public static Budget unlimited() {
+		return new Budget(0, Long.MAX_VALUE);
+	}
+
+	public static Budget of(Duration timeout) {
+		return of(timeout, Long.MAX_VALUE);
+	}
+
+	public static Budget ofSteps(long maxSteps) {
+		return new Budget(0, maxSteps);
+	}
+
+	public static Budget of(Duration timeout, long maxSteps) {
+		return new Budget(Math.max(1, timeout.toNanos()), maxSteps);
+	}
+
+	// Counts one unit of work, false when it may not be done because the budget is exhausted
+	public boolean step() {
+		if (status != Status.DONE) {
+			return false;
+		}
+		if (steps >= maxSteps) {
+			status = Status.STEP_LIMIT;
+			return false;
+		}
+		if (steps % POLL_INTERVAL == 0) {
+			if (Thread.currentThread().isInterrupted()) {
+				status = Status.CANCELLED;
+				return false;
+			}
+			if (timeoutNanos > 0 && System.nanoTime() - started >= timeoutNanos) {
+				status = Status.TIMED_OUT;
+				return false;
+			}
+		}
+		steps++;
+		return true;
+	}
+
+	// step() for recursive solvers, which catch Exhausted at the top
+	void check() {
+		if (!step()) {
+			throw EXHAUSTED;
+		}
+	}
+
+	public Status status() {
+		return status;
+	}
+
+	public long steps() {
+		return steps;
+	}
+
+	public long elapsedNanos() {
+		return System.nanoTime() - started;
+	}
+
+	<T> Result<T> result(T value, long stored) {
+		return new Result<>(status, value, steps, stored, elapsedNanos());
+	}
+}
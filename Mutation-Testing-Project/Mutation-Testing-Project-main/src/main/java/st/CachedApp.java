@@ -0,0 +1,93 @@
+package st;
+
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * Opt-in memoization of the expensive App calls in a ResultCache shared by
+ * all of them. The method name is part of every key. The DP scratch arguments
+ * of App (lengths, memo tables) are filled in here, every call works on the
+ * full strings. Weights approximate the chars held by an entry: the
+ * arguments, the result and a fixed ENTRY_OVERHEAD.
+ * wordBreak2 results are returned as immutable copies, since callers share them.
+ */
+public class CachedApp {
+
+	static final long ENTRY_OVERHEAD = 16;
+
+	private final App app;
+	private final ResultCache<Object> cache;
+
+	public CachedApp(long maxEntries, long maxWeight) {
+		this(new App(), maxEntries, maxWeight);
+	}
+
+	public CachedApp(App app, long maxEntries, long maxWeight) {
+		this.app = app;
+		this.cache = new ResultCache<>(maxEntries, maxWeight, CachedApp::weigh);
+	}
+
+	public int calculateEditDistance(String str1, String str2) {
+		return (Integer) cache.get(ResultCache.Key.of("calculateEditDistance", str1, str2), () -> {
+			int[][] memo = new int[str1.length() + 1][str2.length() + 1];
+			for (int[] row : memo) {
+				Arrays.fill(row, -1);
+			}
+			return app.calculateEditDistance(str1, str2, str1.length(), str2.length(), memo);
+		});
+	}
+
+	public int LCS(String x, String y) {
+		return (Integer) cache.get(ResultCache.Key.of("LCS", x, y),
+				() -> app.LCS(x.toCharArray(), y.toCharArray(), x.length(), y.length()));
+	}
+
+	public int SequenceAlignment(String x, String y, int pxy, int pgap) {
+		return (Integer) cache.get(ResultCache.Key.of("SequenceAlignment", x, y, pxy, pgap),
+				() -> app.SequenceAlignment(x, y, pxy, pgap));
+	}
+
+	@SuppressWarnings("unchecked")
+	public List<String> wordBreak2(String s, List<String> wordDict) {
+		return (List<String>) cache.get(ResultCache.Key.of("wordBreak2", s, wordDict),
+				() -> List.copyOf(app.wordBreak2(s, wordDict)));
+	}
+
+	public int minStickers(String[] stickers, String target) {
+		return (Integer) cache.get(ResultCache.Key.of("minStickers", stickers, target),
+				() -> app.minStickers(stickers, target));
+	}
+
+	public ResultCache.Stats stats() {
+		return cache.stats();
+	}
+
+	public void clear() {
+		cache.clear();
+	}
+
+	static long weigh(ResultCache.Key key, Object value) {
+		long weight = ENTRY_OVERHEAD;
+		for (Object arg : key.args) {
+			weight += chars(arg);
+		}
+		return weight + chars(value);
+	}
+
+	private static long chars(Object o) {
+		if (o instanceof String) {
+			return ((String) o).length();
+		}
+		if (o instanceof String[]) {
+			o = Arrays.asList((String[]) o);
+		}
+		if (o instanceof List) {
+			long total = 0;
+			for (Object element : (List<?>) o) {
+				total += chars(element);
+			}
+			return total;
+		}
+		return 1;
+	}
+}
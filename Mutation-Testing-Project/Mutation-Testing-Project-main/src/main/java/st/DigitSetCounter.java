@@ -0,0 +1,117 @@
+package st;
+
+/*
+ * Digit DP of App.atMostNGivenDigitSet on long bounds: counts the positive
+ * integers whose decimal digits all come from one digit set. Bounds are split
+ * into digits arithmetically instead of through String/substring, and the
+ * powers of the set size and the counts of shorter numbers are computed once
+ * per set and shared by every query.
+ * Unlike App a 0 in the set is allowed, it just never leads.
+ */
+public class DigitSetCounter {
+
+	// Long.MAX_VALUE has 19 digits
+	static final int MAX_DIGITS = 19;
+	static final long[] POWERS_OF_TEN = new long[MAX_DIGITS];
+
+	static {
+		POWERS_OF_TEN[0] = 1;
+		for (int i = 1; i < MAX_DIGITS; i++) {
+			POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+		}
+	}
+
+	// Bit d set when d is in the set
+	private final int mask;
+	// lessThan[d]: digits of the set below d
+	private final int[] lessThan = new int[10];
+	// powers[i] = k^i
+	private final long[] powers = new long[MAX_DIGITS];
+	// shorter[len]: valid numbers with fewer than len digits
+	private final long[] shorter = new long[MAX_DIGITS + 1];
+	private final boolean hasZero;
+
+	public DigitSetCounter(String[] D) {
+		this(parse(D));
+	}
+
+	public DigitSetCounter(int... digits) {
+		int m = 0;
+		for (int d : digits) {
+			if (d < 0 || d > 9) {
+				throw new IllegalArgumentException("not a decimal digit: " + d);
+			}
+			m |= 1 << d;
+		}
+		this.mask = m;
+		this.hasZero = (m & 1) != 0;
+		int k = Integer.bitCount(m);
+		for (int d = 1; d < 10; d++) {
+			lessThan[d] = lessThan[d - 1] + ((m >>> (d - 1)) & 1);
+		}
+		// k <= 10, so no count below 19 digits overflows a long
+		powers[0] = 1;
+		for (int i = 1; i < MAX_DIGITS; i++) {
+			powers[i] = powers[i - 1] * k;
+		}
+		int leading = k - (hasZero ? 1 : 0);
+		for (int len = 2; len <= MAX_DIGITS; len++) {
+			shorter[len] = shorter[len - 1] + leading * powers[len - 2];
+		}
+	}
+
+	private static int[] parse(String[] D) {
+		int[] digits = new int[D.length];
+		for (int i = 0; i < D.length; i++) {
+			digits[i] = Integer.parseInt(D[i]);
+		}
+		return digits;
+	}
+
+	// Valid numbers in [1, n]
+	public long atMost(long n) {
+		if (n < 1) {
+			return 0;
+		}
+		int len = 1;
+		while (len < MAX_DIGITS && POWERS_OF_TEN[len] <= n) {
+			len++;
+		}
+		long count = shorter[len];
+		for (int p = len - 1; p >= 0; p--) {
+			int digit = (int) (n / POWERS_OF_TEN[p] % 10);
+			int below = lessThan[digit];
+			if (p == len - 1 && hasZero && digit > 0) {
+				// No leading zero
+				below--;
+			}
+			count += below * powers[p];
+			if ((mask & (1 << digit)) == 0) {
+				return count;
+			}
+		}
+		// n itself is valid
+		return count + 1;
+	}
+
+	// Valid numbers in [from, to], 0 when from > to
+	public long count(long from, long to) {
+		if (from > to) {
+			return 0;
+		}
+		return atMost(to) - (from <= 1 ? 0 : atMost(from - 1));
+	}
+
+	// atMost for every bound, into out
+	public void atMostAll(long[] bounds, long[] out) {
+		for (int i = 0; i < bounds.length; i++) {
+			out[i] = atMost(bounds[i]);
+		}
+	}
+
+	public long[] atMostAll(long[] bounds) {
+		long[] out = new long[bounds.length];
+		atMostAll(bounds, out);
+		return out;
+	}
+}
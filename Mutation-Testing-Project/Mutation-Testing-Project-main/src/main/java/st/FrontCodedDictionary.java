@@ -0,0 +1,299 @@
+package st;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/*
+ * Immutable front-coded string dictionary.
+ * Entries are stored sorted (unsigned UTF-8 byte order) and deduplicated in one
+ * contiguous byte[]. Every block of BLOCK_SIZE entries starts with a full entry,
+ * the following ones only keep the length of the prefix shared with their
+ * predecessor and the remaining suffix bytes:
+ *
+ *   first entry: vint length, bytes
+ *   other entry: vint shared, vint suffix length, suffix bytes
+ *
+ * Lookups binary search the block heads and then scan at most one block.
+ * Ordinals are positions in sorted order, 0 .. size() - 1.
+ */
+public class FrontCodedDictionary implements Iterable<String> {
+
+	static final int BLOCK_SIZE = 16;
+
+	private final byte[] data;
+	private final int[] blockOffsets;
+	private final int size;
+	private final int maxLength;
+
+	public FrontCodedDictionary(String... words) {
+		this(Arrays.asList(words));
+	}
+
+	public FrontCodedDictionary(Iterable<String> words) {
+		AlgorithmEvents.IndexBuild event = new AlgorithmEvents.IndexBuild();
+		event.begin();
+		List<byte[]> encoded = new ArrayList<>();
+		long chars = 0;
+		for (String word : words) {
+			encoded.add(word.getBytes(StandardCharsets.UTF_8));
+			chars += word.length();
+		}
+		encoded.sort(Arrays::compareUnsigned);
+
+		Output out = new Output();
+		List<Integer> offsets = new ArrayList<>();
+		byte[] previous = null;
+		int count = 0;
+		int longest = 0;
+		for (byte[] word : encoded) {
+			if (previous != null && Arrays.equals(previous, word)) {
+				continue;
+			}
+			if (count % BLOCK_SIZE == 0) {
+				offsets.add(out.length);
+				out.writeVInt(word.length);
+				out.write(word, 0, word.length);
+			} else {
+				int shared = Arrays.mismatch(previous, word);
+				out.writeVInt(shared);
+				out.writeVInt(word.length - shared);
+				out.write(word, shared, word.length - shared);
+			}
+			longest = Math.max(longest, word.length);
+			previous = word;
+			count++;
+		}
+
+		this.data = Arrays.copyOf(out.bytes, out.length);
+		this.blockOffsets = new int[offsets.size()];
+		for (int i = 0; i < blockOffsets.length; i++) {
+			blockOffsets[i] = offsets.get(i);
+		}
+		this.size = count;
+		this.maxLength = longest;
+		event.finish("FrontCodedDictionary", count, chars, blockOffsets.length, memoryBytes());
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean contains(String word) {
+		return ordinal(word) >= 0;
+	}
+
+	/*
+	 * Ordinal of word, or (-(insertion point) - 1) when it is absent,
+	 * following the convention of Arrays.binarySearch.
+	 */
+	public int ordinal(String word) {
+		return search(word.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public String get(int ordinal) {
+		if (ordinal < 0 || ordinal >= size) {
+			throw new IndexOutOfBoundsException("ordinal " + ordinal + " of " + size);
+		}
+		Cursor cursor = new Cursor(ordinal / BLOCK_SIZE);
+		for (int i = ordinal % BLOCK_SIZE; i > 0; i--) {
+			cursor.next();
+		}
+		return cursor.toString();
+	}
+
+	// Ordinals [from, to) of all entries starting with prefix
+	public int[] prefixRange(String prefix) {
+		byte[] key = prefix.getBytes(StandardCharsets.UTF_8);
+		int from = insertionPoint(search(key));
+
+		// Smallest key greater than every string with this prefix: drop trailing 0xFF bytes, increment the last
+		int end = key.length;
+		while (end > 0 && key[end - 1] == (byte) 0xFF) {
+			end--;
+		}
+		if (end == 0) {
+			return new int[] { from, size };
+		}
+		byte[] upper = Arrays.copyOf(key, end);
+		upper[end - 1]++;
+		return new int[] { from, insertionPoint(search(upper)) };
+	}
+
+	@Override
+	public Iterator<String> iterator() {
+		return new Iterator<String>() {
+			int ordinal = 0;
+			Cursor cursor;
+
+			@Override
+			public boolean hasNext() {
+				return ordinal < size;
+			}
+
+			@Override
+			public String next() {
+				if (ordinal >= size) {
+					throw new NoSuchElementException();
+				}
+				if (ordinal % BLOCK_SIZE == 0) {
+					cursor = new Cursor(ordinal / BLOCK_SIZE);
+				} else {
+					cursor.next();
+				}
+				ordinal++;
+				return cursor.toString();
+			}
+		};
+	}
+
+	// Heap used by this dictionary, assuming compressed oops (12 byte object headers, 16 byte array headers)
+	public final long memoryBytes() {
+		return align(12 + 4 + 4 + 4 + 4) + align(16 + data.length) + align(16 + 4L * blockOffsets.length);
+	}
+
+	public double bytesPerEntry() {
+		return size == 0 ? 0 : (double) memoryBytes() / size;
+	}
+
+	/*
+	 * Estimated heap of the same words held in a HashSet<String>: per entry a HashMap.Node (32),
+	 * a String (24) and its Latin-1 or UTF-16 byte[], plus the power of two bucket table.
+	 */
+	public static long estimateHashSetBytes(Iterable<String> words) {
+		long bytes = align(16) + align(48); // HashSet and its HashMap
+		long count = 0;
+		for (String word : words) {
+			boolean latin1 = word.chars().allMatch(c -> c < 256);
+			bytes += 32 + 24 + align(16 + (latin1 ? word.length() : 2L * word.length()));
+			count++;
+		}
+		long buckets = Long.highestOneBit(Math.max(1, (long) Math.ceil(count / 0.75)) * 2 - 1);
+		return bytes + align(16 + 4 * buckets);
+	}
+
+	private static long align(long bytes) {
+		return (bytes + 7) & ~7L;
+	}
+
+	private static int insertionPoint(int searchResult) {
+		return searchResult >= 0 ? searchResult : -searchResult - 1;
+	}
+
+	private int search(byte[] key) {
+		// Last block whose head is <= key
+		int lo = 0, hi = blockOffsets.length - 1, block = -1;
+		while (lo <= hi) {
+			int mid = (lo + hi) >>> 1;
+			int pos = blockOffsets[mid];
+			int length = readVInt(pos);
+			int start = pos + vIntSize(length);
+			int cmp = Arrays.compareUnsigned(data, start, start + length, key, 0, key.length);
+			if (cmp == 0) {
+				return mid * BLOCK_SIZE;
+			}
+			if (cmp < 0) {
+				block = mid;
+				lo = mid + 1;
+			} else {
+				hi = mid - 1;
+			}
+		}
+		if (block < 0) {
+			return -1;
+		}
+
+		Cursor cursor = new Cursor(block);
+		int ordinal = block * BLOCK_SIZE;
+		int last = Math.min(size, ordinal + BLOCK_SIZE);
+		while (++ordinal < last) {
+			cursor.next();
+			int cmp = Arrays.compareUnsigned(cursor.bytes, 0, cursor.length, key, 0, key.length);
+			if (cmp == 0) {
+				return ordinal;
+			}
+			if (cmp > 0) {
+				return -ordinal - 1;
+			}
+		}
+		return -ordinal - 1;
+	}
+
+	private int readVInt(int pos) {
+		int value = 0;
+		for (int shift = 0;; shift += 7) {
+			byte b = data[pos++];
+			value |= (b & 0x7F) << shift;
+			if (b >= 0) {
+				return value;
+			}
+		}
+	}
+
+	private static int vIntSize(int value) {
+		int bytes = 1;
+		while ((value >>>= 7) != 0) {
+			bytes++;
+		}
+		return bytes;
+	}
+
+	// Decodes the entries of one block in order into a reusable buffer
+	private class Cursor {
+		final byte[] bytes = new byte[maxLength];
+		int length;
+		int pos;
+
+		Cursor(int block) {
+			pos = blockOffsets[block];
+			length = readVInt(pos);
+			pos += vIntSize(length);
+			System.arraycopy(data, pos, bytes, 0, length);
+			pos += length;
+		}
+
+		void next() {
+			int shared = readVInt(pos);
+			pos += vIntSize(shared);
+			int suffix = readVInt(pos);
+			pos += vIntSize(suffix);
+			System.arraycopy(data, pos, bytes, shared, suffix);
+			pos += suffix;
+			length = shared + suffix;
+		}
+
+		@Override
+		public String toString() {
+			return new String(bytes, 0, length, StandardCharsets.UTF_8);
+		}
+	}
+
+	private static class Output {
+		byte[] bytes = new byte[1024];
+		int length;
+
+		void write(byte[] src, int from, int count) {
+			ensure(count);
+			System.arraycopy(src, from, bytes, length, count);
+			length += count;
+		}
+
+		void writeVInt(int value) {
+			ensure(5);
+			while ((value & ~0x7F) != 0) {
+				bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			bytes[length++] = (byte) value;
+		}
+
+		void ensure(int extra) {
+			if (length + extra > bytes.length) {
+				bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+			}
+		}
+	}
+}
@@ -0,0 +1,294 @@
+package st;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+
+/*
+ * IDA* solver for App.kSimilarity.
+ * Positions that already match are dropped up front. At every node all swaps
+ * that fix two positions at once (2-cycles of the mismatch graph) are applied
+ * without branching, since some optimal solution always takes them. The search
+ * is bounded by the cycle decomposition lower bound
+ *
+ *   swaps >= mismatches - twoCycles - (remainingMismatches / 3)
+ *
+ * because swaps = mismatches - cycles and, once the 2-cycles are gone, every
+ * cycle has length three or more. Within one iteration a transposition table
+ * of packed states (character ids packed into a long) prunes states already
+ * reached at the same or smaller depth.
+ * Each expanded node is a step of the call's Budget. solve and kSimilarity
+ * run with Budget.unlimited(), so an interrupt of the thread stops them with a
+ * CancellationException.
+ */
+public class KSimilaritySolver {
+
+	public static class Result {
+		public final int swaps;
+		// Nodes generated by branching swaps, forced swaps are not counted
+		public final long expanded;
+		public final long elapsedNanos;
+
+		Result(int swaps, long expanded, long elapsedNanos) {
+			this.swaps = swaps;
+			this.expanded = expanded;
+			this.elapsedNanos = elapsedNanos;
+		}
+	}
+
+	private static final int FOUND = -1;
+
+	private int[] s;
+	private int[] t;
+	private int alphabet;
+	private int bits;
+	private boolean packable;
+	private LongIntMap table;
+	private long expanded;
+	private int foundSwaps;
+	private int[][] pairCount;
+	private Budget budget;
+
+	public int kSimilarity(String s1, String s2) {
+		return solve(s1, s2).swaps;
+	}
+
+	public Result solve(String s1, String s2) {
+		Budget.Result<Integer> result = kSimilarity(s1, s2, Budget.unlimited());
+		if (!result.isDone()) {
+			throw new CancellationException("kSimilarity interrupted");
+		}
+		return new Result(result.value, expanded, result.elapsedNanos);
+	}
+
+	// When the budget runs out first the value is the IDA* bound reached, a lower bound on the swaps
+	public Budget.Result<Integer> kSimilarity(String s1, String s2, Budget budget) {
+		AlgorithmEvents.Solver event = new AlgorithmEvents.Solver();
+		event.begin();
+		prepare(s1, s2);
+		this.budget = budget;
+		expanded = 0;
+		int bound = lowerBound();
+		try {
+			while (true) {
+				table = new LongIntMap();
+				int next = search(0, bound);
+				if (next == FOUND) {
+					// Stored states are those of the last IDA* iteration
+					event.finish("KSimilaritySolver", s1.length(), 0, foundSwaps, expanded, table.size());
+					return budget.result(foundSwaps, table.size());
+				}
+				bound = next;
+			}
+		} catch (Budget.Exhausted e) {
+			event.finish("KSimilaritySolver", s1.length(), 0, -1, expanded, table.size());
+			return budget.result(bound, table.size());
+		}
+	}
+
+	private void prepare(String s1, String s2) {
+		if (s1.length() != s2.length()) {
+			throw new IllegalArgumentException("strings of different length");
+		}
+		char[] sorted1 = s1.toCharArray(), sorted2 = s2.toCharArray();
+		Arrays.sort(sorted1);
+		Arrays.sort(sorted2);
+		if (!Arrays.equals(sorted1, sorted2)) {
+			throw new IllegalArgumentException("strings are not anagrams");
+		}
+
+		int m = 0;
+		for (int i = 0; i < s1.length(); i++) {
+			if (s1.charAt(i) != s2.charAt(i)) {
+				m++;
+			}
+		}
+		s = new int[m];
+		t = new int[m];
+		// Characters of the mismatched positions get dense ids in order of appearance
+		char[] letters = new char[m];
+		alphabet = 0;
+		for (int i = 0, k = 0; i < s1.length(); i++) {
+			char a = s1.charAt(i), b = s2.charAt(i);
+			if (a != b) {
+				s[k] = idOf(letters, a);
+				t[k++] = idOf(letters, b);
+			}
+		}
+		bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(Math.max(alphabet - 1, 0)));
+		packable = (long) m * bits <= 64;
+		pairCount = new int[alphabet][alphabet];
+	}
+
+	private int idOf(char[] letters, char c) {
+		for (int id = 0; id < alphabet; id++) {
+			if (letters[id] == c) {
+				return id;
+			}
+		}
+		letters[alphabet] = c;
+		return alphabet++;
+	}
+
+	// Returns FOUND or the smallest f = g + h that exceeded bound
+	private int search(int g, int bound) {
+		int[] forced = new int[s.length];
+		int forcedCount = applyForcedSwaps(forced);
+		g += forcedCount / 2;
+		try {
+			int first = 0;
+			while (first < s.length && s[first] == t[first]) {
+				first++;
+			}
+			if (first == s.length) {
+				if (g > bound) {
+					return g;
+				}
+				foundSwaps = g;
+				return FOUND;
+			}
+
+			int f = g + lowerBound();
+			if (f > bound) {
+				return f;
+			}
+			if (packable) {
+				long key = pack();
+				int seen = table.get(key);
+				if (seen >= 0 && seen <= g) {
+					return Integer.MAX_VALUE;
+				}
+				table.put(key, g);
+			}
+
+			int min = Integer.MAX_VALUE;
+			for (int j = first + 1; j < s.length; j++) {
+				if (s[j] == t[first] && s[j] != t[j]) {
+					budget.check();
+					swap(first, j);
+					expanded++;
+					int result = search(g + 1, bound);
+					swap(first, j);
+					if (result == FOUND) {
+						return FOUND;
+					}
+					min = Math.min(min, result);
+				}
+			}
+			return min;
+		} finally {
+			// Undo the forced swaps in reverse order
+			for (int k = forcedCount - 2; k >= 0; k -= 2) {
+				swap(forced[k], forced[k + 1]);
+			}
+		}
+	}
+
+	// Applies every swap that fixes two positions, records the swapped pairs in forced
+	private int applyForcedSwaps(int[] forced) {
+		int count = 0;
+		for (int i = 0; i < s.length; i++) {
+			if (s[i] == t[i]) {
+				continue;
+			}
+			for (int j = i + 1; j < s.length; j++) {
+				if (s[j] != t[j] && s[i] == t[j] && s[j] == t[i]) {
+					swap(i, j);
+					forced[count++] = i;
+					forced[count++] = j;
+					break;
+				}
+			}
+		}
+		return count;
+	}
+
+	int lowerBound() {
+		for (int[] row : pairCount) {
+			Arrays.fill(row, 0);
+		}
+		int mismatches = 0;
+		for (int i = 0; i < s.length; i++) {
+			if (s[i] != t[i]) {
+				pairCount[s[i]][t[i]]++;
+				mismatches++;
+			}
+		}
+		int twoCycles = 0;
+		for (int a = 0; a < alphabet; a++) {
+			for (int b = a + 1; b < alphabet; b++) {
+				twoCycles += Math.min(pairCount[a][b], pairCount[b][a]);
+			}
+		}
+		int remaining = mismatches - 2 * twoCycles;
+		return mismatches - twoCycles - remaining / 3;
+	}
+
+	private long pack() {
+		long key = 0;
+		for (int c : s) {
+			key = (key << bits) | c;
+		}
+		return key;
+	}
+
+	private void swap(int i, int j) {
+		int tmp = s[i];
+		s[i] = s[j];
+		s[j] = tmp;
+	}
+
+	// Open addressing long -> non-negative int map, get returns -1 when absent
+	static class LongIntMap {
+		private long[] keys = new long[256];
+		private int[] values = new int[256];
+		private boolean[] used = new boolean[256];
+		private int size;
+
+		int get(long key) {
+			int mask = keys.length - 1;
+			for (int i = slot(key, mask); used[i]; i = (i + 1) & mask) {
+				if (keys[i] == key) {
+					return values[i];
+				}
+			}
+			return -1;
+		}
+
+		void put(long key, int value) {
+			if ((size + 1) * 2 > keys.length) {
+				long[] oldKeys = keys;
+				int[] oldValues = values;
+				boolean[] oldUsed = used;
+				keys = new long[oldKeys.length * 2];
+				values = new int[oldKeys.length * 2];
+				used = new boolean[oldKeys.length * 2];
+				size = 0;
+				for (int i = 0; i < oldKeys.length; i++) {
+					if (oldUsed[i]) {
+						put(oldKeys[i], oldValues[i]);
+					}
+				}
+			}
+			int mask = keys.length - 1;
+			int i = slot(key, mask);
+			while (used[i] && keys[i] != key) {
+				i = (i + 1) & mask;
+			}
+			if (!used[i]) {
+				used[i] = true;
+				keys[i] = key;
+				size++;
+			}
+			values[i] = value;
+		}
+
+		int size() {
+			return size;
+		}
+
+		private static int slot(long key, int mask) {
+			long h = key * 0x9E3779B97F4A7C15L;
+			return (int) (h ^ (h >>> 32)) & mask;
+		}
+	}
+}
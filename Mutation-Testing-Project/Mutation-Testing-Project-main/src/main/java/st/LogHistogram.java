@@ -0,0 +1,132 @@
+package st;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * Concurrent histogram of non-negative longs with log-scaled buckets, in the
+ * spirit of HdrHistogram: values below 16 get their own bucket, larger values
+ * share a bucket with the values having the same highest bit and the same 3
+ * bits below it, so every bucket is at most 12.5% wide relative to its lower
+ * bound. Counts live in striped cells, a thread picks its stripe by id, so
+ * concurrent writers rarely touch the same cache line. Reads sum the stripes.
+ */
+public class LogHistogram {
+
+	static final int SUB_BITS = 3;
+	static final int EXACT = 2 << SUB_BITS;
+	// One group of sub-buckets per highest bit from SUB_BITS + 1 up to 62
+	static final int BUCKETS = EXACT + (62 - SUB_BITS) * (1 << SUB_BITS);
+
+	private final int stripes;
+	private final AtomicLongArray cells;
+
+	public LogHistogram() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	LogHistogram(int concurrency) {
+		int s = Integer.highestOneBit(Math.max(1, Math.min(concurrency, 16)) * 2 - 1);
+		this.stripes = s;
+		this.cells = new AtomicLongArray(s * BUCKETS);
+	}
+
+	static int bucket(long value) {
+		if (value < EXACT) {
+			return value <= 0 ? 0 : (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int mantissa = (int) (value >>> (exponent - SUB_BITS)) & ((1 << SUB_BITS) - 1);
+		return EXACT + ((exponent - SUB_BITS - 1) << SUB_BITS) + mantissa;
+	}
+
+	// Smallest value that falls into bucket
+	static long lowerBound(int bucket) {
+		if (bucket < EXACT) {
+			return bucket;
+		}
+		int exponent = ((bucket - EXACT) >>> SUB_BITS) + SUB_BITS + 1;
+		long mantissa = (bucket - EXACT) & ((1 << SUB_BITS) - 1);
+		return ((1L << SUB_BITS) | mantissa) << (exponent - SUB_BITS);
+	}
+
+	public void record(long value) {
+		int stripe = (int) Thread.currentThread().threadId() & (stripes - 1);
+		cells.getAndIncrement(stripe * BUCKETS + bucket(value));
+	}
+
+	public void reset() {
+		for (int i = 0; i < cells.length(); i++) {
+			cells.set(i, 0);
+		}
+	}
+
+	// Counts per bucket summed over the stripes, not atomic with respect to concurrent writers
+	public Snapshot snapshot() {
+		long[] counts = new long[BUCKETS];
+		for (int s = 0; s < stripes; s++) {
+			for (int b = 0; b < BUCKETS; b++) {
+				counts[b] += cells.get(s * BUCKETS + b);
+			}
+		}
+		return new Snapshot(counts);
+	}
+
+	public static class Snapshot {
+		private final long[] counts;
+		private final long total;
+
+		Snapshot(long[] counts) {
+			this.counts = counts;
+			long sum = 0;
+			for (long count : counts) {
+				sum += count;
+			}
+			this.total = sum;
+		}
+
+		public long count() {
+			return total;
+		}
+
+		// Lower bound of the bucket holding the value at quantile q (0..1), 0 when empty
+		public long valueAt(double q) {
+			if (total == 0) {
+				return 0;
+			}
+			long rank = Math.max(1, (long) Math.ceil(q * total));
+			long seen = 0;
+			for (int b = 0; b < counts.length; b++) {
+				seen += counts[b];
+				if (seen >= rank) {
+					return lowerBound(b);
+				}
+			}
+			return lowerBound(counts.length - 1);
+		}
+
+		public long max() {
+			for (int b = counts.length - 1; b >= 0; b--) {
+				if (counts[b] > 0) {
+					return lowerBound(b);
+				}
+			}
+			return 0;
+		}
+
+		// Mean of the bucket lower bounds, so it errs low by at most 12.5%
+		public double mean() {
+			if (total == 0) {
+				return 0;
+			}
+			double sum = 0;
+			for (int b = 0; b < counts.length; b++) {
+				sum += (double) counts[b] * lowerBound(b);
+			}
+			return sum / total;
+		}
+
+		public long[] counts() {
+			return counts.clone();
+		}
+	}
+}
@@ -0,0 +1,457 @@
+package st;
+
+import java.util.List;
+
+/*
+ * App behind AppMetrics and AlgorithmEvents: every public algorithm with the
+ * same signature. A call is timed and counted when metrics are enabled, and
+ * searches, DPs and solvers also emit their Flight Recorder event while a
+ * recording has it enabled. Otherwise it is a plain delegation.
+ * Only the outer call is recorded, recursion inside App is not. The input size
+ * is the length of the searched text, string or array, the sum of both lengths
+ * for two-sequence DPs, N for the counting methods and the word count for
+ * dictionaries. Calls that throw are not recorded.
+ * Not wrapped: the helpers max, power, badCharHeuristic, reverseStr, util1 and
+ * util2, which the algorithms call themselves, and the variants beside the
+ * originals (search, the Budget, FrontCodedDictionary, parallel, code point
+ * and UTF-8 overloads), which callers reach through App directly.
+ */
+public class MeteredApp {
+
+	static final AppMetrics.Method RABIN_KARP = AppMetrics.method("rabinKarp");
+	static final AppMetrics.Method Z_ALGORITHM = AppMetrics.method("ZAlgorithm");
+	static final AppMetrics.Method BINARY_SEARCH = AppMetrics.method("binarySearch");
+	static final AppMetrics.Method LINEAR_SEARCH = AppMetrics.method("linearSearch");
+	static final AppMetrics.Method KMP_SEARCH = AppMetrics.method("KMPSearch");
+	static final AppMetrics.Method BOYER_MOORE = AppMetrics.method("BoyerMoore");
+	static final AppMetrics.Method LCS = AppMetrics.method("LCS");
+	static final AppMetrics.Method LPS = AppMetrics.method("lps");
+	static final AppMetrics.Method SUPER_SEQ = AppMetrics.method("superSeq");
+	static final AppMetrics.Method MAX_COMM_STR = AppMetrics.method("maxCommStr");
+	static final AppMetrics.Method LONGEST_COMMON_PREFIX = AppMetrics.method("longestCommonPrefix");
+	static final AppMetrics.Method FIND_LONGEST_VALID_PARENTHESES = AppMetrics.method("findLongestValidParentheses");
+	static final AppMetrics.Method CALCULATE_EDIT_DISTANCE = AppMetrics.method("calculateEditDistance");
+	static final AppMetrics.Method FIND_LONGEST_PALINDROMIC_SUBSTRING = AppMetrics.method("findLongestPalindromicSubstring");
+	static final AppMetrics.Method SEQUENCE_ALIGNMENT = AppMetrics.method("SequenceAlignment");
+	static final AppMetrics.Method WILDCARD_PATTERN = AppMetrics.method("WildcardPattern");
+	static final AppMetrics.Method MIN_PAL_PARTITION = AppMetrics.method("minPalPartition");
+	static final AppMetrics.Method LONGEST_REPEATING_SUB_SEQ = AppMetrics.method("LongestRepeatingSubSeq");
+	static final AppMetrics.Method LONGEST_PREFIX_SUFFIX = AppMetrics.method("longestPrefixSuffix");
+	static final AppMetrics.Method K_VOWEL_WORDS = AppMetrics.method("KVowelWords");
+	static final AppMetrics.Method LEFTROTATE = AppMetrics.method("leftrotate");
+	static final AppMetrics.Method RIGHTROTATE = AppMetrics.method("rightrotate");
+	static final AppMetrics.Method IS_ROTATION = AppMetrics.method("isRotation");
+	static final AppMetrics.Method REVERSE_VOWEL = AppMetrics.method("reverseVowel");
+	static final AppMetrics.Method REPEATED_STRING_MATCH = AppMetrics.method("repeatedStringMatch");
+	static final AppMetrics.Method FIND_ALL_CONCATENATED_WORDS_IN_A_DICT = AppMetrics.method("findAllConcatenatedWordsInADict");
+	static final AppMetrics.Method WORD_BREAK1 = AppMetrics.method("wordBreak1");
+	static final AppMetrics.Method WORD_BREAK2 = AppMetrics.method("wordBreak2");
+	static final AppMetrics.Method AT_MOST_N_GIVEN_DIGIT_SET = AppMetrics.method("atMostNGivenDigitSet");
+	static final AppMetrics.Method IS_PALINDROME = AppMetrics.method("isPalindrome");
+	static final AppMetrics.Method PALINDROME_PAIRS = AppMetrics.method("palindromePairs");
+	static final AppMetrics.Method MIN_STICKERS = AppMetrics.method("minStickers");
+	static final AppMetrics.Method K_SIMILARITY = AppMetrics.method("kSimilarity");
+
+	private final App app;
+
+	public MeteredApp() {
+		this(new App());
+	}
+
+	public MeteredApp(App app) {
+		this.app = app;
+	}
+
+	public int rabinKarp(String pattern, String text, int prime) {
+		AlgorithmEvents.Search event = new AlgorithmEvents.Search();
+		if (!AppMetrics.enabled() && !event.isEnabled()) {
+			return app.rabinKarp(pattern, text, prime);
+		}
+		event.begin();
+		long start = System.nanoTime();
+		int result = app.rabinKarp(pattern, text, prime);
+		RABIN_KARP.record(start, text.length());
+		event.finish("rabinKarp", text.length(), pattern.length(), result);
+		return result;
+	}
+
+	public int ZAlgorithm(String text, String pattern) {
+		AlgorithmEvents.Search event = new AlgorithmEvents.Search();
+		if (!AppMetrics.enabled() && !event.isEnabled()) {
+			return app.ZAlgorithm(text, pattern);
+		}
+		event.begin();
+		long start = System.nanoTime();
+		int result = app.ZAlgorithm(text, pattern);
+		Z_ALGORITHM.record(start, text.length());
+		event.finish("ZAlgorithm", text.length(), pattern.length(), result);
+		return result;
+	}
+
+	public int binarySearch(int[] arr, int target) {
+		AlgorithmEvents.Search event = new AlgorithmEvents.Search();
+		if (!AppMetrics.enabled() && !event.isEnabled()) {
+			return app.binarySearch(arr, target);
+		}
+		event.begin();
+		long start = System.nanoTime();
+		int result = app.binarySearch(arr, target);
+		BINARY_SEARCH.record(start, arr.length);
+		event.finish("binarySearch", arr.length, 1, result);
+		return result;
+	}
+
+	public int linearSearch(int[] arr, int target) {
+		AlgorithmEvents.Search event = new AlgorithmEvents.Search();
+		if (!AppMetrics.enabled() && !event.isEnabled()) {
+			return app.linearSearch(arr, target);
+		}
+		event.begin();
+		long start = System.nanoTime();
+		int result = app.linearSearch(arr, target);
+		LINEAR_SEARCH.record(start, arr.length);
+		event.finish("linearSearch", arr.length, 1, result);
+		return result;
+	}
+
+	public int KMPSearch(CharSequence pattern, CharSequence text) {
+		AlgorithmEvents.Search event = new AlgorithmEvents.Search();
+		if (!AppMetrics.enabled() && !event.isEnabled()) {
+			return app.KMPSearch(pattern, text);
+		}
+		event.begin();
+		long start = System.nanoTime();
+		int result = app.KMPSearch(pattern, text);
+		KMP_SEARCH.record(start, text.length());
+		event.finish("KMPSearch", text.length(), pattern.length(), result);
+		return result;
+	}
+
+	public int BoyerMoore(char[] txt, char[] pat) {
+		AlgorithmEvents.Search event = new AlgorithmEvents.Search();
+		if (!AppMetrics.enabled() && !event.isEnabled()) {
+			return app.BoyerMoore(txt, pat);
+		}
+		event.begin();
+		long start = System.nanoTime();
+		int result = app.BoyerMoore(txt, pat);
+		BOYER_MOORE.record(start, txt.length);
+		event.finish("BoyerMoore", txt.length, pat.length, result);
+		return result;
+	}
+
+	public int LCS(char[] X, char[] Y, int m, int n) {
+		AlgorithmEvents.DynamicProgramming event = new AlgorithmEvents.DynamicProgramming();
+		if (!AppMetrics.enabled() && !event.isEnabled()) {
+			return app.LCS(X, Y, m, n);
+		}
+		event.begin();
+		long start = System.nanoTime();
+		int result = app.LCS(X, Y, m, n);
+		LCS.record(start, m + n);
+		event.finish("LCS", m, n, (m + 1L) * (n + 1), result);
+		return result;
+	}
+
+	public int lps(char[] seq, int i, int j) {
+		AlgorithmEvents.DynamicProgramming event = new AlgorithmEvents.DynamicProgramming();
+		if (!AppMetrics.enabled() && !event.isEnabled()) {
+			return app.lps(seq, i, j);
+		}
+		event.begin();
+		long start = System.nanoTime();
+		int result = app.lps(seq, i, j);
+		LPS.record(start, j - i + 1);
+		event.finish("lps", j - i + 1, 0, (long) (j - i + 1) * (j - i + 1), result);
+		return result;
+	}
+
+	public int superSeq(String X, String Y, int n, int m, int[][] lookup) {
+		AlgorithmEvents.DynamicProgramming event = new AlgorithmEvents.DynamicProgramming();
+		if (!AppMetrics.enabled() && !event.isEnabled()) {
+			return app.superSeq(X, Y, n, m, lookup);
+		}
+		event.begin();
+		long start = System.nanoTime();
+		int result = app.superSeq(X, Y, n, m, lookup);
+		SUPER_SEQ.record(start, n + m);
+		event.finish("superSeq", n, m, (n + 1L) * (m + 1), result);
+		return result;
+	}
+
+	public int maxCommStr(String s1, String s2) {
+		AlgorithmEvents.DynamicProgramming event = new AlgorithmEvents.DynamicProgramming();
+		if (!AppMetrics.enabled() && !event.isEnabled()) {
+			return app.maxCommStr(s1, s2);
+		}
+		event.begin();
+		long start = System.nanoTime();
+		int result = app.maxCommStr(s1, s2);
+		MAX_COMM_STR.record(start, s1.length() + s2.length());
+		event.finish("maxCommStr", s1.length(), s2.length(), (s1.length() + 1L) * (s2.length() + 1), result);
+		return result;
+	}
+
+	public String longestCommonPrefix(String[] strings) {
+		if (!AppMetrics.enabled()) {
+			return app.longestCommonPrefix(strings);
+		}
+		long start = System.nanoTime();
+		String result = app.longestCommonPrefix(strings);
+		LONGEST_COMMON_PREFIX.record(start, strings.length);
+		return result;
+	}
+
+	public int findLongestValidParentheses(String str, int length) {
+		AlgorithmEvents.DynamicProgramming event = new AlgorithmEvents.DynamicProgramming();
+		if (!AppMetrics.enabled() && !event.isEnabled()) {
+			return app.findLongestValidParentheses(str, length);
+		}
+		event.begin();
+		long start = System.nanoTime();
+		int result = app.findLongestValidParentheses(str, length);
+		FIND_LONGEST_VALID_PARENTHESES.record(start, length);
+		event.finish("findLongestValidParentheses", length, 0, length, result);
+		return result;
+	}
+
+	public int calculateEditDistance(String str1, String str2, int len1, int len2, int[][] memo) {
+		AlgorithmEvents.DynamicProgramming event = new AlgorithmEvents.DynamicProgramming();
+		if (!AppMetrics.enabled() && !event.isEnabled()) {
+			return app.calculateEditDistance(str1, str2, len1, len2, memo);
+		}
+		event.begin();
+		long start = System.nanoTime();
+		int result = app.calculateEditDistance(str1, str2, len1, len2, memo);
+		CALCULATE_EDIT_DISTANCE.record(start, len1 + len2);
+		event.finish("calculateEditDistance", len1, len2, (len1 + 1L) * (len2 + 1), result);
+		return result;
+	}
+
+	public String findLongestPalindromicSubstring(String input) {
+		if (!AppMetrics.enabled()) {
+			return app.findLongestPalindromicSubstring(input);
+		}
+		long start = System.nanoTime();
+		String result = app.findLongestPalindromicSubstring(input);
+		FIND_LONGEST_PALINDROMIC_SUBSTRING.record(start, input.length());
+		return result;
+	}
+
+	public int SequenceAlignment(String x, String y, int pxy, int pgap) {
+		AlgorithmEvents.DynamicProgramming event = new AlgorithmEvents.DynamicProgramming();
+		if (!AppMetrics.enabled() && !event.isEnabled()) {
+			return app.SequenceAlignment(x, y, pxy, pgap);
+		}
+		event.begin();
+		long start = System.nanoTime();
+		int result = app.SequenceAlignment(x, y, pxy, pgap);
+		SEQUENCE_ALIGNMENT.record(start, x.length() + y.length());
+		event.finish("SequenceAlignment", x.length(), y.length(), (x.length() + 1L) * (y.length() + 1), result);
+		return result;
+	}
+
+	public boolean WildcardPattern(String str, String pattern, int n, int m) {
+		AlgorithmEvents.DynamicProgramming event = new AlgorithmEvents.DynamicProgramming();
+		if (!AppMetrics.enabled() && !event.isEnabled()) {
+			return app.WildcardPattern(str, pattern, n, m);
+		}
+		event.begin();
+		long start = System.nanoTime();
+		boolean result = app.WildcardPattern(str, pattern, n, m);
+		WILDCARD_PATTERN.record(start, n + m);
+		event.finish("WildcardPattern", n, m, (n + 1L) * (m + 1), result ? 1 : 0);
+		return result;
+	}
+
+	public int minPalPartition(String str) {
+		AlgorithmEvents.DynamicProgramming event = new AlgorithmEvents.DynamicProgramming();
+		if (!AppMetrics.enabled() && !event.isEnabled()) {
+			return app.minPalPartition(str);
+		}
+		event.begin();
+		long start = System.nanoTime();
+		int result = app.minPalPartition(str);
+		MIN_PAL_PARTITION.record(start, str.length());
+		event.finish("minPalPartition", str.length(), 0, (long) str.length() * str.length(), result);
+		return result;
+	}
+
+	public int LongestRepeatingSubSeq(String str) {
+		AlgorithmEvents.DynamicProgramming event = new AlgorithmEvents.DynamicProgramming();
+		if (!AppMetrics.enabled() && !event.isEnabled()) {
+			return app.LongestRepeatingSubSeq(str);
+		}
+		event.begin();
+		long start = System.nanoTime();
+		int result = app.LongestRepeatingSubSeq(str);
+		LONGEST_REPEATING_SUB_SEQ.record(start, str.length());
+		event.finish("LongestRepeatingSubSeq", str.length(), 0, (str.length() + 1L) * (str.length() + 1), result);
+		return result;
+	}
+
+	public int longestPrefixSuffix(String s) {
+		if (!AppMetrics.enabled()) {
+			return app.longestPrefixSuffix(s);
+		}
+		long start = System.nanoTime();
+		int result = app.longestPrefixSuffix(s);
+		LONGEST_PREFIX_SUFFIX.record(start, s.length());
+		return result;
+	}
+
+	public int KVowelWords(int N, int K) {
+		AlgorithmEvents.DynamicProgramming event = new AlgorithmEvents.DynamicProgramming();
+		if (!AppMetrics.enabled() && !event.isEnabled()) {
+			return app.KVowelWords(N, K);
+		}
+		event.begin();
+		long start = System.nanoTime();
+		int result = app.KVowelWords(N, K);
+		K_VOWEL_WORDS.record(start, N);
+		event.finish("KVowelWords", N, K, (N + 1L) * (K + 1), result);
+		return result;
+	}
+
+	public String leftrotate(String str1, int n) {
+		if (!AppMetrics.enabled()) {
+			return app.leftrotate(str1, n);
+		}
+		long start = System.nanoTime();
+		String result = app.leftrotate(str1, n);
+		LEFTROTATE.record(start, str1.length());
+		return result;
+	}
+
+	public String rightrotate(String str1, int n) {
+		if (!AppMetrics.enabled()) {
+			return app.rightrotate(str1, n);
+		}
+		long start = System.nanoTime();
+		String result = app.rightrotate(str1, n);
+		RIGHTROTATE.record(start, str1.length());
+		return result;
+	}
+
+	public boolean isRotation(String a, String b) {
+		if (!AppMetrics.enabled()) {
+			return app.isRotation(a, b);
+		}
+		long start = System.nanoTime();
+		boolean result = app.isRotation(a, b);
+		IS_ROTATION.record(start, a.length());
+		return result;
+	}
+
+	public String reverseVowel(String str) {
+		if (!AppMetrics.enabled()) {
+			return app.reverseVowel(str);
+		}
+		long start = System.nanoTime();
+		String result = app.reverseVowel(str);
+		REVERSE_VOWEL.record(start, str.length());
+		return result;
+	}
+
+	public int repeatedStringMatch(String a, String b) {
+		if (!AppMetrics.enabled()) {
+			return app.repeatedStringMatch(a, b);
+		}
+		long start = System.nanoTime();
+		int result = app.repeatedStringMatch(a, b);
+		REPEATED_STRING_MATCH.record(start, a.length() + b.length());
+		return result;
+	}
+
+	public List<String> findAllConcatenatedWordsInADict(String[] words) {
+		if (!AppMetrics.enabled()) {
+			return app.findAllConcatenatedWordsInADict(words);
+		}
+		long start = System.nanoTime();
+		List<String> result = app.findAllConcatenatedWordsInADict(words);
+		FIND_ALL_CONCATENATED_WORDS_IN_A_DICT.record(start, words.length);
+		return result;
+	}
+
+	public boolean wordBreak1(String s, List<String> wordDict) {
+		AlgorithmEvents.DynamicProgramming event = new AlgorithmEvents.DynamicProgramming();
+		if (!AppMetrics.enabled() && !event.isEnabled()) {
+			return app.wordBreak1(s, wordDict);
+		}
+		event.begin();
+		long start = System.nanoTime();
+		boolean result = app.wordBreak1(s, wordDict);
+		WORD_BREAK1.record(start, s.length());
+		event.finish("wordBreak1", s.length(), wordDict.size(), (long) s.length() * s.length(), result ? 1 : 0);
+		return result;
+	}
+
+	public List<String> wordBreak2(String s, List<String> wordDict) {
+		AlgorithmEvents.DynamicProgramming event = new AlgorithmEvents.DynamicProgramming();
+		if (!AppMetrics.enabled() && !event.isEnabled()) {
+			return app.wordBreak2(s, wordDict);
+		}
+		event.begin();
+		long start = System.nanoTime();
+		List<String> result = app.wordBreak2(s, wordDict);
+		WORD_BREAK2.record(start, s.length());
+		event.finish("wordBreak2", s.length(), wordDict.size(), (long) s.length() * s.length(), result.size());
+		return result;
+	}
+
+	public int atMostNGivenDigitSet(String[] D, int N) {
+		if (!AppMetrics.enabled()) {
+			return app.atMostNGivenDigitSet(D, N);
+		}
+		long start = System.nanoTime();
+		int result = app.atMostNGivenDigitSet(D, N);
+		AT_MOST_N_GIVEN_DIGIT_SET.record(start, N);
+		return result;
+	}
+
+	public boolean isPalindrome(String s) {
+		if (!AppMetrics.enabled()) {
+			return app.isPalindrome(s);
+		}
+		long start = System.nanoTime();
+		boolean result = app.isPalindrome(s);
+		IS_PALINDROME.record(start, s.length());
+		return result;
+	}
+
+	public List<List<Integer>> palindromePairs(String[] words) {
+		if (!AppMetrics.enabled()) {
+			return app.palindromePairs(words);
+		}
+		long start = System.nanoTime();
+		List<List<Integer>> result = app.palindromePairs(words);
+		PALINDROME_PAIRS.record(start, words.length);
+		return result;
+	}
+
+	public int minStickers(String[] stickers, String target) {
+		AlgorithmEvents.Solver event = new AlgorithmEvents.Solver();
+		if (!AppMetrics.enabled() && !event.isEnabled()) {
+			return app.minStickers(stickers, target);
+		}
+		event.begin();
+		long start = System.nanoTime();
+		int result = app.minStickers(stickers, target);
+		MIN_STICKERS.record(start, target.length());
+		event.finish("minStickers", target.length(), stickers.length, result, -1, -1);
+		return result;
+	}
+
+	public int kSimilarity(String s1, String tar) {
+		AlgorithmEvents.Solver event = new AlgorithmEvents.Solver();
+		if (!AppMetrics.enabled() && !event.isEnabled()) {
+			return app.kSimilarity(s1, tar);
+		}
+		event.begin();
+		long start = System.nanoTime();
+		int result = app.kSimilarity(s1, tar);
+		K_SIMILARITY.record(start, s1.length());
+		event.finish("kSimilarity", s1.length(), 0, result, -1, -1);
+		return result;
+	}
+}
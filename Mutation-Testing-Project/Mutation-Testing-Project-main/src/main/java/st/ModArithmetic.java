@@ -0,0 +1,149 @@
+package st;
+
+/*
+ * Modular exponentiation without the int overflow of App.power.
+ * Moduli are positive ints, so every product of two residues fits a long.
+ * The plain path reduces each long product with %, the Montgomery path (odd
+ * moduli only) keeps residues in Montgomery form x * 2^32 mod m and replaces
+ * the division by multiplications, a mask and a shift.
+ */
+public class ModArithmetic {
+
+	private ModArithmetic() {
+	}
+
+	public static long mulMod(long a, long b, long mod) {
+		return a * b % mod;
+	}
+
+	// base^exp mod mod for exp >= 0, mod > 0, mod < 2^31
+	public static long pow(long base, long exp, long mod) {
+		long result = 1 % mod;
+		base = Math.floorMod(base, mod);
+		while (exp > 0) {
+			if ((exp & 1) != 0)
+				result = result * base % mod;
+			exp >>= 1;
+			base = base * base % mod;
+		}
+		return result;
+	}
+
+	// bases[i]^exp mod mod for every i, Montgomery form when mod is odd
+	public static int[] powAll(int[] bases, int exp, int mod) {
+		int[] result = new int[bases.length];
+		if ((mod & 1) == 0 || mod == 1) {
+			for (int i = 0; i < bases.length; i++) {
+				result[i] = (int) pow(bases[i], exp, mod);
+			}
+			return result;
+		}
+		Montgomery montgomery = new Montgomery(mod);
+		for (int i = 0; i < bases.length; i++) {
+			result[i] = (int) montgomery.pow(bases[i], exp);
+		}
+		return result;
+	}
+
+	/*
+	 * Montgomery arithmetic for an odd modulus m < 2^31 with R = 2^32.
+	 * reduce(t) returns t / R mod m for t < m * R.
+	 */
+	public static class Montgomery {
+		final long mod;
+		// -m^-1 mod 2^32
+		final long negInverse;
+		// R^2 mod m, converts into Montgomery form
+		final long r2;
+		final long one;
+
+		public Montgomery(int mod) {
+			if (mod <= 1 || (mod & 1) == 0) {
+				throw new IllegalArgumentException("Montgomery form needs an odd modulus > 1: " + mod);
+			}
+			this.mod = mod;
+			// Newton iteration, each step doubles the correct low bits of m^-1
+			long inverse = mod;
+			for (int i = 0; i < 5; i++) {
+				inverse *= 2 - mod * inverse;
+			}
+			this.negInverse = -inverse & 0xFFFFFFFFL;
+			long r = (1L << 32) % mod;
+			this.r2 = r * r % mod;
+			this.one = r;
+		}
+
+		long reduce(long t) {
+			long u = (t * negInverse) & 0xFFFFFFFFL;
+			// t + u * m < 2^64, the unsigned shift keeps it exact
+			long reduced = (t + u * mod) >>> 32;
+			return reduced >= mod ? reduced - mod : reduced;
+		}
+
+		long toMontgomery(long x) {
+			return reduce(Math.floorMod(x, mod) * r2);
+		}
+
+		long fromMontgomery(long x) {
+			return reduce(x);
+		}
+
+		long multiply(long a, long b) {
+			return reduce(a * b);
+		}
+
+		public long pow(long base, long exp) {
+			long result = one;
+			long x = toMontgomery(base);
+			while (exp > 0) {
+				if ((exp & 1) != 0)
+					result = reduce(result * x);
+				exp >>= 1;
+				x = reduce(x * x);
+			}
+			return fromMontgomery(result);
+		}
+	}
+
+	/*
+	 * Powers of one fixed base with a table of base^(d * 2^(WINDOW * i)) for every
+	 * window digit d, so pow(exp) is one multiplication per non-zero digit of exp
+	 * and no squarings. The table takes 16 windows of 16 longs.
+	 */
+	public static class FixedBase {
+		static final int WINDOW = 4;
+
+		final long mod;
+		final long[][] table;
+
+		public FixedBase(long base, long mod) {
+			this.mod = mod;
+			int windows = (Long.SIZE - 1 + WINDOW - 1) / WINDOW;
+			table = new long[windows][1 << WINDOW];
+			long power = Math.floorMod(base, mod);
+			for (int i = 0; i < windows; i++) {
+				table[i][0] = 1 % mod;
+				for (int d = 1; d < 1 << WINDOW; d++) {
+					table[i][d] = table[i][d - 1] * power % mod;
+				}
+				// base^(2^(WINDOW * (i + 1)))
+				power = table[i][(1 << WINDOW) - 1] * power % mod;
+			}
+		}
+
+		// base^exp mod mod for exp >= 0
+		public long pow(long exp) {
+			if (exp < 0) {
+				throw new IllegalArgumentException("negative exponent " + exp);
+			}
+			long result = 1 % mod;
+			for (int i = 0; exp != 0; i++, exp >>>= WINDOW) {
+				int digit = (int) (exp & ((1 << WINDOW) - 1));
+				if (digit != 0) {
+					result = result * table[i][digit] % mod;
+				}
+			}
+			return result;
+		}
+	}
+}
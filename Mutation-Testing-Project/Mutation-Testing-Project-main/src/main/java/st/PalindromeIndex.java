@@ -0,0 +1,163 @@
+package st;
+
+/*
+ * Reusable palindrome index over one text.
+ * Keeps the Manacher radii that findLongestPalindromicSubstring computes and
+ * builds sparse tables (argmax RMQ) on top of them, so that
+ * isPalindrome(l, r) is O(1) and longestPalindrome(l, r) is O(log n).
+ * All ranges are inclusive, like util1/util2 in App.
+ * Unlike App.findLongestPalindromicSubstring and its code point and UTF-8
+ * variants, longestPalindrome never skips the first symbol: a range without a
+ * palindrome longer than one char still gives one char, e.g. "a" for "ab"
+ * where App gives "b", and "q" for "q" where App gives "".
+ */
+public class PalindromeIndex {
+
+	private final String text;
+
+	// oddRadius[i]: largest t with text[i-t..i+t] a palindrome
+	private final int[] oddRadius;
+	// evenRadius[i]: largest t with text[i-t..i+t-1] a palindrome (center between i-1 and i)
+	private final int[] evenRadius;
+
+	private final int[][] oddTable;
+	private final int[][] evenTable;
+	private final int[] log2;
+
+	public PalindromeIndex(String text) {
+		AlgorithmEvents.IndexBuild event = new AlgorithmEvents.IndexBuild();
+		event.begin();
+		this.text = text;
+		int n = text.length();
+		int[] lpsArray = new App().palindromeLengths(text);
+
+		oddRadius = new int[n];
+		evenRadius = new int[n];
+		for (int i = 0; i < n; i++) {
+			oddRadius[i] = (lpsArray[2 * i + 1] - 1) / 2;
+			evenRadius[i] = lpsArray[2 * i] / 2;
+		}
+
+		log2 = new int[n + 1];
+		for (int i = 2; i <= n; i++) {
+			log2[i] = log2[i / 2] + 1;
+		}
+		oddTable = buildTable(oddRadius);
+		evenTable = buildTable(evenRadius);
+		event.finish("PalindromeIndex", n, n, -1, memoryBytes());
+	}
+
+	public String text() {
+		return text;
+	}
+
+	public int length() {
+		return text.length();
+	}
+
+	public boolean isPalindrome(int l, int r) {
+		checkRange(l, r);
+		int len = r - l + 1;
+		if (len % 2 == 1) {
+			return oddRadius[(l + r) / 2] >= len / 2;
+		}
+		return evenRadius[(l + r + 1) / 2] >= len / 2;
+	}
+
+	public String longestPalindrome(int l, int r) {
+		int[] best = longestPalindromeBounds(l, r);
+		return text.substring(best[0], best[0] + best[1]);
+	}
+
+	// Returns {start, length} of a longest palindrome inside text[l..r]
+	public int[] longestPalindromeBounds(int l, int r) {
+		checkRange(l, r);
+
+		// Odd palindromes: the largest t with a center i in [l+t, r-t] and oddRadius[i] >= t
+		int lo = 0, hi = (r - l) / 2;
+		while (lo < hi) {
+			int t = (lo + hi + 1) >>> 1;
+			if (oddRadius[argMax(oddTable, oddRadius, l + t, r - t)] >= t) {
+				lo = t;
+			} else {
+				hi = t - 1;
+			}
+		}
+		int oddT = lo;
+		int oddCenter = argMax(oddTable, oddRadius, l + oddT, r - oddT);
+		int bestStart = oddCenter - oddT;
+		int bestLength = 2 * oddT + 1;
+
+		// Even palindromes: the largest t with a center i in [l+t, r-t+1] and evenRadius[i] >= t
+		lo = 0;
+		hi = (r - l + 1) / 2;
+		while (lo < hi) {
+			int t = (lo + hi + 1) >>> 1;
+			if (evenRadius[argMax(evenTable, evenRadius, l + t, r - t + 1)] >= t) {
+				lo = t;
+			} else {
+				hi = t - 1;
+			}
+		}
+		if (2 * lo > bestLength) {
+			int evenCenter = argMax(evenTable, evenRadius, l + lo, r - lo + 1);
+			bestStart = evenCenter - lo;
+			bestLength = 2 * lo;
+		}
+		return new int[] { bestStart, bestLength };
+	}
+
+	public final long memoryBytes() {
+		long bytes = arrayBytes(oddRadius.length) + arrayBytes(evenRadius.length) + arrayBytes(log2.length);
+		for (int[] row : oddTable) {
+			bytes += arrayBytes(row.length);
+		}
+		for (int[] row : evenTable) {
+			bytes += arrayBytes(row.length);
+		}
+		return bytes;
+	}
+
+	// Index memory divided by the number of indexed characters (the text itself is not counted)
+	public double bytesPerCharacter() {
+		return text.isEmpty() ? 0 : (double) memoryBytes() / text.length();
+	}
+
+	private static long arrayBytes(int ints) {
+		// 16 byte array header, 4 bytes per int, rounded to 8 byte alignment
+		return (16 + 4L * ints + 7) & ~7L;
+	}
+
+	private int[][] buildTable(int[] values) {
+		int n = values.length;
+		int levels = n == 0 ? 1 : log2[n] + 1;
+		int[][] table = new int[levels][];
+		table[0] = new int[n];
+		for (int i = 0; i < n; i++) {
+			table[0][i] = i;
+		}
+		for (int k = 1; k < levels; k++) {
+			int width = n - (1 << k) + 1;
+			table[k] = new int[width];
+			for (int i = 0; i < width; i++) {
+				int a = table[k - 1][i];
+				int b = table[k - 1][i + (1 << (k - 1))];
+				table[k][i] = values[a] >= values[b] ? a : b;
+			}
+		}
+		return table;
+	}
+
+	private int argMax(int[][] table, int[] values, int from, int to) {
+		int k = log2[to - from + 1];
+		int a = table[k][from];
+		int b = table[k][to - (1 << k) + 1];
+		return values[a] >= values[b] ? a : b;
+	}
+
+	private void checkRange(int l, int r) {
+		if (l < 0 || r >= text.length() || l > r) {
+			throw new IndexOutOfBoundsException("range [" + l + ", " + r + "] of length " + text.length());
+		}
+	}
+}
@@ -0,0 +1,159 @@
+package st;
+
+import java.util.Arrays;
+
+/*
+ * Online palindrome tracker (eertree / palindromic tree).
+ * Characters are appended one at a time and every append costs amortized O(1),
+ * so a stream can be followed without recomputing Manacher from scratch.
+ * Node 0 is the imaginary root of length -1, node 1 the empty root of length 0,
+ * every other node is one distinct palindrome occurring in the text.
+ */
+public class PalindromicTree {
+
+	private char[] text = new char[16];
+	private int size = 0;
+
+	private int[] len = new int[16];
+	private int[] link = new int[16];
+	private int nodes = 2;
+
+	// Node of the longest palindromic suffix of the current text
+	private int last = 1;
+
+	private int maxLength = 0;
+	private int maxEnd = 0;
+
+	// Edges (node, char) -> node kept in one open addressing table, key 0 means empty
+	private long[] edgeKeys = new long[64];
+	private int[] edgeTargets = new int[64];
+	private int edgeCount = 0;
+
+	public PalindromicTree() {
+		len[0] = -1;
+		link[0] = 0;
+		len[1] = 0;
+		link[1] = 0;
+	}
+
+	public PalindromicTree append(CharSequence chars) {
+		for (int i = 0; i < chars.length(); i++) {
+			append(chars.charAt(i));
+		}
+		return this;
+	}
+
+	public PalindromicTree append(char c) {
+		if (size == text.length) {
+			text = Arrays.copyOf(text, size * 2);
+		}
+		int pos = size;
+		text[size++] = c;
+
+		int cur = findSuffix(last, pos, c);
+		int existing = edge(cur, c);
+		if (existing != 0) {
+			last = existing;
+		} else {
+			if (nodes == len.length) {
+				len = Arrays.copyOf(len, nodes * 2);
+				link = Arrays.copyOf(link, nodes * 2);
+			}
+			int node = nodes++;
+			len[node] = len[cur] + 2;
+			if (len[node] == 1) {
+				// Single characters hang off the empty palindrome
+				link[node] = 1;
+			} else {
+				link[node] = edge(findSuffix(link[cur], pos, c), c);
+			}
+			putEdge(cur, c, node);
+			last = node;
+		}
+
+		if (len[last] > maxLength) {
+			maxLength = len[last];
+			maxEnd = size;
+		}
+		return this;
+	}
+
+	// Walk suffix links until the palindrome at node can be extended by c on both sides
+	private int findSuffix(int node, int pos, char c) {
+		while (true) {
+			int mirror = pos - 1 - len[node];
+			if (mirror >= 0 && text[mirror] == c) {
+				return node;
+			}
+			node = link[node];
+		}
+	}
+
+	public int length() {
+		return size;
+	}
+
+	public String longestPalindrome() {
+		return new String(text, maxEnd - maxLength, maxLength);
+	}
+
+	public int longestPalindromeStart() {
+		return maxEnd - maxLength;
+	}
+
+	public String longestPalindromicSuffix() {
+		return new String(text, size - len[last], len[last]);
+	}
+
+	public int distinctPalindromes() {
+		return nodes - 2;
+	}
+
+	private static int slot(long key, int mask) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32)) & mask;
+	}
+
+	private static long edgeKey(int node, char c) {
+		return (((long) node << 16) | c) + 1;
+	}
+
+	private int edge(int node, char c) {
+		long key = edgeKey(node, c);
+		int mask = edgeKeys.length - 1;
+		int i = slot(key, mask);
+		while (edgeKeys[i] != 0) {
+			if (edgeKeys[i] == key) {
+				return edgeTargets[i];
+			}
+			i = (i + 1) & mask;
+		}
+		return 0;
+	}
+
+	private void putEdge(int node, char c, int target) {
+		if ((edgeCount + 1) * 2 > edgeKeys.length) {
+			long[] oldKeys = edgeKeys;
+			int[] oldTargets = edgeTargets;
+			edgeKeys = new long[oldKeys.length * 2];
+			edgeTargets = new int[oldKeys.length * 2];
+			for (int i = 0; i < oldKeys.length; i++) {
+				if (oldKeys[i] != 0) {
+					insert(oldKeys[i], oldTargets[i]);
+				}
+			}
+		}
+		insert(edgeKey(node, c), target);
+		edgeCount++;
+	}
+
+	private void insert(long key, int target) {
+		int mask = edgeKeys.length - 1;
+		int i = slot(key, mask);
+		while (edgeKeys[i] != 0) {
+			i = (i + 1) & mask;
+		}
+		edgeKeys[i] = key;
+		edgeTargets[i] = target;
+	}
+}
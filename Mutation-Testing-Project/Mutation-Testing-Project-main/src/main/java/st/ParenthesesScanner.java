@@ -0,0 +1,323 @@
+package st;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntConsumer;
+
+/*
+ * Single-pass form of App.findLongestValidParentheses for input that arrives in
+ * chunks and can only be read forward once. A primitive stack keeps the offsets
+ * of the '(' not matched yet, base is the offset of the last unmatched ')'.
+ * Each ')' closes the run that starts after the new stack top (or after base)
+ * and ends at it. Offsets are longs so the input may exceed 2^31 chars.
+ * Like App, every char other than '(' counts as ')'.
+ *
+ * longestParallel splits an in-memory input into chunks, summarizes every chunk
+ * by its unmatched ')' and '(' offsets and its best run, and merges adjacent
+ * summaries in a fork/join reduction tree.
+ *
+ * longestPrefixSum works on the balance prefixes B[i] = opens - closes of s[0, i)
+ * instead: char i is an unmatched ')' iff B[i + 1] is below every earlier prefix,
+ * an unmatched '(' iff B[i] is below every later one, and the valid runs are the
+ * gaps between unmatched chars. Chunk sums and minima are combined by exclusive
+ * scans, then every chunk finds its unmatched chars with a running prefix-min
+ * (forward) and suffix-min (backward) seeded from those scans. Both chunk passes
+ * run in parallel and the prefixes are recomputed instead of stored.
+ */
+public class ParenthesesScanner {
+
+	private long[] stack = new long[64];
+	private int depth;
+	private long base = -1;
+	private long position;
+	private long bestStart = -1;
+	private long bestLength;
+
+	public void accept(CharSequence chunk) {
+		for (int i = 0; i < chunk.length(); i++) {
+			accept(chunk.charAt(i));
+		}
+	}
+
+	public void accept(char[] chunk, int offset, int length) {
+		for (int i = offset; i < offset + length; i++) {
+			accept(chunk[i]);
+		}
+	}
+
+	public void accept(char c) {
+		if (c == '(') {
+			if (depth == stack.length) {
+				stack = Arrays.copyOf(stack, depth * 2);
+			}
+			stack[depth++] = position;
+		} else if (depth == 0) {
+			base = position;
+		} else {
+			depth--;
+			long start = (depth == 0 ? base : stack[depth - 1]) + 1;
+			long length = position - start + 1;
+			if (length > bestLength) {
+				bestLength = length;
+				bestStart = start;
+			}
+		}
+		position++;
+	}
+
+	// Reads in until end of stream, chunk by chunk
+	public static ParenthesesScanner scan(Reader in) throws IOException {
+		ParenthesesScanner scanner = new ParenthesesScanner();
+		char[] buffer = new char[8192];
+		int read;
+		while ((read = in.read(buffer)) != -1) {
+			scanner.accept(buffer, 0, read);
+		}
+		return scanner;
+	}
+
+	// Chars consumed so far
+	public long position() {
+		return position;
+	}
+
+	public long longest() {
+		return bestLength;
+	}
+
+	// Offset of the first char of the earliest longest run, -1 while there is none
+	public long longestStart() {
+		return bestStart;
+	}
+
+	// Offset after its last char, -1 while there is none
+	public long longestEnd() {
+		return bestStart < 0 ? -1 : bestStart + bestLength;
+	}
+
+	/*
+	 * Longest valid run of s as {start, length}, start is -1 when there is none.
+	 * Same result as the streaming scan, computed by the common fork/join pool.
+	 */
+	public static long[] longestParallel(CharSequence s) {
+		Summary summary = ForkJoinPool.commonPool().invoke(new SummaryTask(s, 0, s.length()));
+		return new long[] { summary.bestStart, summary.bestLength };
+	}
+
+	public static long[] longestPrefixSum(CharSequence s, ForkJoinPool pool) {
+		int chunkSize = Math.max(1 << 16, s.length() / (4 * pool.getParallelism()) + 1);
+		return longestPrefixSum(s, pool, chunkSize);
+	}
+
+	// Longest valid run of s as {start, length} like longestParallel, chunks of chunkSize chars
+	static long[] longestPrefixSum(CharSequence s, ForkJoinPool pool, int chunkSize) {
+		int n = s.length();
+		int chunks = Math.max(1, (n + chunkSize - 1) / chunkSize);
+		// Per chunk: sum of its steps and min of B over [from, to] relative to B[from]
+		int[] total = new int[chunks];
+		int[] relativeMin = new int[chunks];
+		pool.invoke(new ChunkPass(0, chunks, c -> {
+			int b = 0, min = 0;
+			for (int i = c * chunkSize, to = Math.min(n, i + chunkSize); i < to; i++) {
+				b += s.charAt(i) == '(' ? 1 : -1;
+				min = Math.min(min, b);
+			}
+			total[c] = b;
+			relativeMin[c] = min;
+		}));
+
+		// Exclusive scans: B at each chunk start, min of B up to it and from its end on
+		int[] start = new int[chunks];
+		int[] minBefore = new int[chunks];
+		int[] minAfter = new int[chunks];
+		for (int c = 1; c < chunks; c++) {
+			start[c] = start[c - 1] + total[c - 1];
+			minBefore[c] = Math.min(minBefore[c - 1], start[c - 1] + relativeMin[c - 1]);
+		}
+		minAfter[chunks - 1] = start[chunks - 1] + total[chunks - 1];
+		for (int c = chunks - 2; c >= 0; c--) {
+			minAfter[c] = Math.min(minAfter[c + 1], start[c + 1] + relativeMin[c + 1]);
+		}
+
+		// Per chunk: first and last unmatched offset (-1 if none) and the longest gap between unmatched ones inside
+		long[][] gaps = new long[chunks][];
+		pool.invoke(new ChunkPass(0, chunks, c -> {
+			int from = c * chunkSize, to = Math.min(n, from + chunkSize);
+			boolean[] unmatched = new boolean[to - from];
+			int b = start[c], min = minBefore[c];
+			for (int i = from; i < to; i++) {
+				boolean open = s.charAt(i) == '(';
+				b += open ? 1 : -1;
+				unmatched[i - from] = !open && b < min;
+				min = Math.min(min, b);
+			}
+			min = minAfter[c];
+			for (int i = to - 1; i >= from; i--) {
+				boolean open = s.charAt(i) == '(';
+				b -= open ? 1 : -1;
+				unmatched[i - from] |= open && b < min;
+				min = Math.min(min, b);
+			}
+			long first = -1, last = -1, bestStart = -1, bestLength = 0;
+			for (int i = from; i < to; i++) {
+				if (!unmatched[i - from]) {
+					continue;
+				}
+				if (last >= 0 && i - last - 1 > bestLength) {
+					bestStart = last + 1;
+					bestLength = i - last - 1;
+				}
+				if (first < 0) {
+					first = i;
+				}
+				last = i;
+			}
+			gaps[c] = new long[] { first, last, bestStart, bestLength };
+		}));
+
+		long previous = -1, bestStart = -1, bestLength = 0;
+		for (long[] gap : gaps) {
+			if (gap[0] < 0) {
+				continue;
+			}
+			if (gap[0] - previous - 1 > bestLength) {
+				bestStart = previous + 1;
+				bestLength = gap[0] - previous - 1;
+			}
+			if (gap[3] > bestLength) {
+				bestStart = gap[2];
+				bestLength = gap[3];
+			}
+			previous = gap[1];
+		}
+		if (n - previous - 1 > bestLength) {
+			bestStart = previous + 1;
+			bestLength = n - previous - 1;
+		}
+		return new long[] { bestStart, bestLength };
+	}
+
+	// Runs body for every chunk index in [from, to)
+	static class ChunkPass extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		final int from, to;
+		// Tasks are never serialized
+		final transient IntConsumer body;
+
+		ChunkPass(int from, int to, IntConsumer body) {
+			this.from = from;
+			this.to = to;
+			this.body = body;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from == 1) {
+				body.accept(from);
+				return;
+			}
+			int mid = (from + to) >>> 1;
+			invokeAll(new ChunkPass(from, mid, body), new ChunkPass(mid, to, body));
+		}
+	}
+
+	/*
+	 * Reduced form of the segment [start, end): its unmatched ')' offsets, then
+	 * its unmatched '(' offsets (every unmatched ')' precedes every unmatched '('),
+	 * and the earliest longest valid run inside it.
+	 */
+	static class Summary {
+		final long start, end;
+		final long[] closes;
+		final long[] opens;
+		final long bestStart, bestLength;
+
+		Summary(long start, long end, long[] closes, long[] opens, long bestStart, long bestLength) {
+			this.start = start;
+			this.end = end;
+			this.closes = closes;
+			this.opens = opens;
+			this.bestStart = bestStart;
+			this.bestLength = bestLength;
+		}
+
+		static Summary of(CharSequence s, int from, int to) {
+			ParenthesesScanner scanner = new ParenthesesScanner();
+			scanner.position = from;
+			scanner.base = from - 1;
+			long[] closes = new long[16];
+			int closeCount = 0;
+			for (int i = from; i < to; i++) {
+				if (s.charAt(i) != '(' && scanner.depth == 0) {
+					if (closeCount == closes.length) {
+						closes = Arrays.copyOf(closes, closeCount * 2);
+					}
+					closes[closeCount++] = i;
+				}
+				scanner.accept(s.charAt(i));
+			}
+			return new Summary(from, to, Arrays.copyOf(closes, closeCount), Arrays.copyOf(scanner.stack, scanner.depth),
+					scanner.bestStart, scanner.bestLength);
+		}
+
+		// Summary of this segment followed directly by next
+		Summary merge(Summary next) {
+			// The innermost k unmatched '(' of this segment close the first k unmatched ')' of next
+			int k = Math.min(opens.length, next.closes.length);
+			int keptOpens = opens.length - k;
+
+			// Valid run around the boundary, from after the last unmatched char on the left
+			// to before the first unmatched char on the right
+			long left = keptOpens > 0 ? opens[keptOpens - 1] + 1 : closes.length > 0 ? closes[closes.length - 1] + 1 : start;
+			long right = k < next.closes.length ? next.closes[k] : next.opens.length > 0 ? next.opens[0] : next.end;
+
+			long bestStart = this.bestStart, bestLength = this.bestLength;
+			if (right - left > bestLength) {
+				bestStart = left;
+				bestLength = right - left;
+			}
+			if (next.bestLength > bestLength) {
+				bestStart = next.bestStart;
+				bestLength = next.bestLength;
+			}
+
+			long[] mergedCloses = Arrays.copyOf(closes, closes.length + next.closes.length - k);
+			System.arraycopy(next.closes, k, mergedCloses, closes.length, next.closes.length - k);
+			long[] mergedOpens = Arrays.copyOf(opens, keptOpens + next.opens.length);
+			System.arraycopy(next.opens, 0, mergedOpens, keptOpens, next.opens.length);
+			return new Summary(start, next.end, mergedCloses, mergedOpens, bestStart, bestLength);
+		}
+	}
+
+	static class SummaryTask extends RecursiveTask<Summary> {
+		private static final long serialVersionUID = 1L;
+		static final int THRESHOLD = 1 << 16;
+
+		// Tasks are never serialized
+		final transient CharSequence s;
+		final int from, to;
+
+		SummaryTask(CharSequence s, int from, int to) {
+			this.s = s;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected Summary compute() {
+			if (to - from <= THRESHOLD) {
+				return Summary.of(s, from, to);
+			}
+			int mid = (from + to) >>> 1;
+			SummaryTask right = new SummaryTask(s, mid, to);
+			right.fork();
+			Summary left = new SummaryTask(s, from, mid).compute();
+			return left.merge(right.join());
+		}
+	}
+}
@@ -0,0 +1,189 @@
+package st;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Compressed trie (radix tree) over a fixed set of strings.
+ * The common prefix of any subset of the set is the string depth of the lowest
+ * common ancestor of their terminal nodes, found with binary lifting in
+ * O(k log n) for a subset of k strings instead of rescanning their characters.
+ */
+public class PrefixTrie {
+
+	private static class Node {
+		final int id;
+		// Any word passing through this node, edge labels are read from it
+		final int word;
+		// Length of the string spelled from the root to this node
+		final int depth;
+		Node parent;
+		final Map<Character, Node> children = new HashMap<>();
+
+		Node(int id, int word, int depth) {
+			this.id = id;
+			this.word = word;
+			this.depth = depth;
+		}
+	}
+
+	private final String[] words;
+	private final List<Node> nodes = new ArrayList<>();
+	private final Node[] terminals;
+
+	private int[] level;
+	private int[][] up;
+
+	public PrefixTrie(String[] words) {
+		AlgorithmEvents.IndexBuild event = new AlgorithmEvents.IndexBuild();
+		event.begin();
+		this.words = words.clone();
+		this.terminals = new Node[words.length];
+		Node root = newNode(0, 0);
+		long chars = 0;
+		for (int w = 0; w < words.length; w++) {
+			terminals[w] = insert(root, w);
+			chars += words[w].length();
+		}
+		buildAncestors();
+		event.finish("PrefixTrie", words.length, chars, nodes.size(), -1);
+	}
+
+	public int size() {
+		return words.length;
+	}
+
+	public int nodeCount() {
+		return nodes.size();
+	}
+
+	public String word(int id) {
+		return words[id];
+	}
+
+	// Common prefix of the words with the given indices, "" for an empty subset
+	public String commonPrefix(int... ids) {
+		if (ids.length == 0) {
+			return "";
+		}
+		return words[ids[0]].substring(0, commonPrefixLength(ids));
+	}
+
+	public int commonPrefixLength(int... ids) {
+		if (ids.length == 0) {
+			return 0;
+		}
+		Node lca = terminals[ids[0]];
+		for (int i = 1; i < ids.length && lca.depth > 0; i++) {
+			lca = lca(lca, terminals[ids[i]]);
+		}
+		return lca.depth;
+	}
+
+	private Node newNode(int word, int depth) {
+		Node node = new Node(nodes.size(), word, depth);
+		nodes.add(node);
+		return node;
+	}
+
+	private Node insert(Node root, int w) {
+		String s = words[w];
+		Node node = root;
+		int i = 0;
+		while (i < s.length()) {
+			Node child = node.children.get(s.charAt(i));
+			if (child == null) {
+				Node leaf = newNode(w, s.length());
+				leaf.parent = node;
+				node.children.put(s.charAt(i), leaf);
+				return leaf;
+			}
+
+			// Follow the edge label as far as it matches
+			String label = words[child.word];
+			int j = node.depth;
+			while (j < child.depth && i < s.length() && label.charAt(j) == s.charAt(i)) {
+				i++;
+				j++;
+			}
+			if (j == child.depth) {
+				node = child;
+				continue;
+			}
+
+			// Mismatch or end of word inside the edge, split it at j
+			Node mid = newNode(child.word, j);
+			mid.parent = node;
+			node.children.put(label.charAt(node.depth), mid);
+			child.parent = mid;
+			mid.children.put(label.charAt(j), child);
+			node = mid;
+		}
+		return node;
+	}
+
+	private void buildAncestors() {
+		int n = nodes.size();
+		int levels = 1;
+		while ((1 << levels) < n) {
+			levels++;
+		}
+		level = new int[n];
+		up = new int[levels][n];
+
+		// Nodes are created before their children except for split nodes, so resolve levels recursively
+		for (Node node : nodes) {
+			levelOf(node);
+			up[0][node.id] = node.parent == null ? node.id : node.parent.id;
+		}
+		for (int k = 1; k < levels; k++) {
+			for (int v = 0; v < n; v++) {
+				up[k][v] = up[k - 1][up[k - 1][v]];
+			}
+		}
+	}
+
+	private int levelOf(Node node) {
+		if (node.parent == null || level[node.id] > 0) {
+			return level[node.id];
+		}
+		// Walk up iteratively to avoid deep recursion on long chains
+		List<Node> path = new ArrayList<>();
+		Node cur = node;
+		while (cur.parent != null && level[cur.id] == 0) {
+			path.add(cur);
+			cur = cur.parent;
+		}
+		int base = level[cur.id];
+		for (int i = path.size() - 1; i >= 0; i--) {
+			level[path.get(i).id] = ++base;
+		}
+		return level[node.id];
+	}
+
+	private Node lca(Node a, Node b) {
+		int u = a.id, v = b.id;
+		if (level[u] < level[v]) {
+			int t = u;
+			u = v;
+			v = t;
+		}
+		for (int k = up.length - 1; k >= 0; k--) {
+			if (level[u] - (1 << k) >= level[v]) {
+				u = up[k][u];
+			}
+		}
+		if (u == v) {
+			return nodes.get(u);
+		}
+		for (int k = up.length - 1; k >= 0; k--) {
+			if (up[k][u] != up[k][v]) {
+				u = up[k][u];
+				v = up[k][v];
+			}
+		}
+		return nodes.get(up[0][u]);
+	}
+}
@@ -0,0 +1,410 @@
+package st;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/*
+ * Bounded memo of expensive call results, keyed by the call arguments.
+ * A Key carries a 64-bit hash of the argument contents. Lookups compare the
+ * hash first and confirm with a deep equality check of the arguments, so a
+ * hash collision never returns another call's result.
+ *
+ * The cache is split into stripes by hash, each with its own lock, entry and
+ * weight budget, and a segmented LRU: new entries start in the probation
+ * segment and move to the protected segment (PROTECTED_SHARE of the budget)
+ * on their second hit. A burst of one-off calls only churns probation, entries
+ * hit repeatedly stay protected. Protected overflow goes back to the probation
+ * head, eviction takes the probation tail.
+ *
+ * get computes a missing value outside the lock, so concurrent misses on one
+ * key may both compute it, the last put wins.
+ */
+public class ResultCache<V> {
+
+	static final double PROTECTED_SHARE = 0.8;
+
+	public interface Weigher<V> {
+		long weigh(Key key, V value);
+	}
+
+	public static final class Key {
+		final long hash;
+		final Object[] args;
+
+		Key(long hash, Object[] args) {
+			this.hash = hash;
+			this.args = args;
+		}
+
+		// Key of the call arguments. String[], char[], int[] and List args are hashed by content
+		public static Key of(Object... args) {
+			long h = 0xCBF29CE484222325L;
+			for (Object arg : args) {
+				h = mix(h ^ hashOf(arg));
+			}
+			return new Key(h, args);
+		}
+
+		public long hash() {
+			return hash;
+		}
+
+		// Copy of the arrays and lists among the args, so later changes by the caller cannot alter a stored key
+		Key stable() {
+			Object[] copy = args.clone();
+			for (int i = 0; i < copy.length; i++) {
+				if (copy[i] instanceof Object[]) {
+					copy[i] = ((Object[]) copy[i]).clone();
+				} else if (copy[i] instanceof char[]) {
+					copy[i] = ((char[]) copy[i]).clone();
+				} else if (copy[i] instanceof int[]) {
+					copy[i] = ((int[]) copy[i]).clone();
+				} else if (copy[i] instanceof List) {
+					copy[i] = List.copyOf((List<?>) copy[i]);
+				}
+			}
+			return new Key(hash, copy);
+		}
+
+		@Override
+		public int hashCode() {
+			return (int) (hash ^ (hash >>> 32));
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) o;
+			return hash == other.hash && Arrays.deepEquals(args, other.args);
+		}
+
+		// Content hash of one argument, seeded by its kind so that "ab" and {'a', 'b'} differ
+		private static long hashOf(Object arg) {
+			if (arg instanceof CharSequence) {
+				CharSequence s = (CharSequence) arg;
+				long h = 0x9E3779B97F4A7C15L;
+				for (int i = 0; i < s.length(); i++) {
+					h = (h ^ s.charAt(i)) * 0x100000001B3L;
+				}
+				return h ^ s.length();
+			}
+			if (arg instanceof char[]) {
+				long h = 0x7F4A7C159E3779B9L;
+				for (char c : (char[]) arg) {
+					h = (h ^ c) * 0x100000001B3L;
+				}
+				return h;
+			}
+			if (arg instanceof int[]) {
+				long h = 0x3C6EF372FE94F82BL;
+				for (int v : (int[]) arg) {
+					h = mix(h ^ v);
+				}
+				return h;
+			}
+			if (arg instanceof Object[] || arg instanceof List) {
+				long h = 0xA54FF53A5F1D36F1L;
+				for (Object element : arg instanceof List ? (List<?>) arg : Arrays.asList((Object[]) arg)) {
+					h = mix(h ^ hashOf(element));
+				}
+				return h;
+			}
+			if (arg instanceof Number) {
+				return mix(0x510E527FADE682D1L ^ ((Number) arg).longValue());
+			}
+			return arg == null ? 0 : mix(arg.hashCode());
+		}
+
+		// Murmur3 finalizer
+		private static long mix(long h) {
+			h ^= h >>> 33;
+			h *= 0xFF51AFD7ED558CCDL;
+			h ^= h >>> 33;
+			h *= 0xC4CEB9FE1A85EC53L;
+			h ^= h >>> 33;
+			return h;
+		}
+
+		@Override
+		public String toString() {
+			return Long.toHexString(hash) + Arrays.deepToString(args);
+		}
+	}
+
+	public static class Stats {
+		public final long hits;
+		public final long misses;
+		public final long evictions;
+		public final long evictedWeight;
+		public final long size;
+		public final long weight;
+
+		Stats(long hits, long misses, long evictions, long evictedWeight, long size, long weight) {
+			this.hits = hits;
+			this.misses = misses;
+			this.evictions = evictions;
+			this.evictedWeight = evictedWeight;
+			this.size = size;
+			this.weight = weight;
+		}
+
+		public double hitRate() {
+			long requests = hits + misses;
+			return requests == 0 ? 0 : (double) hits / requests;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("hits=%d misses=%d hitRate=%.3f evictions=%d evictedWeight=%d size=%d weight=%d", hits,
+					misses, hitRate(), evictions, evictedWeight, size, weight);
+		}
+	}
+
+	private final Segment<V>[] segments;
+	private final Weigher<V> weigher;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private final LongAdder evictedWeight = new LongAdder();
+
+	public ResultCache(long maxEntries, long maxWeight, Weigher<V> weigher) {
+		this(maxEntries, maxWeight, weigher, 16);
+	}
+
+	@SuppressWarnings("unchecked")
+	public ResultCache(long maxEntries, long maxWeight, Weigher<V> weigher, int stripes) {
+		if (maxEntries <= 0 || maxWeight <= 0 || stripes <= 0) {
+			throw new IllegalArgumentException("bounds and stripes must be positive");
+		}
+		// A power of two, and no more stripes than entries
+		int count = Integer.highestOneBit((int) Math.min(stripes, maxEntries));
+		this.segments = (Segment<V>[]) new Segment<?>[count];
+		for (int i = 0; i < count; i++) {
+			// Budgets split evenly, the first stripes take the remainders
+			long entries = maxEntries / count + (i < maxEntries % count ? 1 : 0);
+			long weight = Math.max(1, maxWeight / count + (i < maxWeight % count ? 1 : 0));
+			segments[i] = new Segment<>(entries, weight);
+		}
+		this.weigher = weigher;
+	}
+
+	private Segment<V> segmentFor(Key key) {
+		return segments[(int) (key.hash >>> 32) & (segments.length - 1)];
+	}
+
+	// Cached value of key or null, counts a hit or a miss
+	public V getIfPresent(Key key) {
+		V value = segmentFor(key).get(key);
+		(value != null ? hits : misses).increment();
+		return value;
+	}
+
+	// Cached value of key, or the loader's value, which is then cached. Null values are not cached
+	public V get(Key key, Supplier<V> loader) {
+		V value = getIfPresent(key);
+		if (value == null) {
+			value = loader.get();
+			if (value != null) {
+				put(key, value);
+			}
+		}
+		return value;
+	}
+
+	// Values heavier than a stripe's whole weight budget are not stored
+	public void put(Key key, V value) {
+		long weight = Math.max(1, weigher.weigh(key, value));
+		segmentFor(key).put(key.stable(), value, weight, this);
+	}
+
+	public void clear() {
+		for (Segment<V> segment : segments) {
+			segment.clear();
+		}
+	}
+
+	public Stats stats() {
+		long size = 0, weight = 0;
+		for (Segment<V> segment : segments) {
+			segment.lock.lock();
+			try {
+				size += segment.map.size();
+				weight += segment.probationWeight + segment.protectedWeight;
+			} finally {
+				segment.lock.unlock();
+			}
+		}
+		return new Stats(hits.sum(), misses.sum(), evictions.sum(), evictedWeight.sum(), size, weight);
+	}
+
+	void evicted(long weight) {
+		evictions.increment();
+		evictedWeight.add(weight);
+	}
+
+	int stripes() {
+		return segments.length;
+	}
+
+	static final class Node<V> {
+		final Key key;
+		V value;
+		long weight;
+		boolean isProtected;
+		Node<V> prev, next;
+
+		Node(Key key, V value, long weight) {
+			this.key = key;
+			this.value = value;
+			this.weight = weight;
+		}
+	}
+
+	// Circular doubly linked list with a sentinel, head.next is the most recently used node
+	static final class Lru<V> {
+		final Node<V> head = new Node<>(null, null, 0);
+		int size;
+
+		Lru() {
+			head.prev = head.next = head;
+		}
+
+		void addFirst(Node<V> node) {
+			node.next = head.next;
+			node.prev = head;
+			head.next.prev = node;
+			head.next = node;
+			size++;
+		}
+
+		void remove(Node<V> node) {
+			node.prev.next = node.next;
+			node.next.prev = node.prev;
+			node.prev = node.next = null;
+			size--;
+		}
+
+		Node<V> last() {
+			return head.prev == head ? null : head.prev;
+		}
+	}
+
+	static final class Segment<V> {
+		final ReentrantLock lock = new ReentrantLock();
+		final Map<Key, Node<V>> map = new HashMap<>();
+		final Lru<V> probation = new Lru<>();
+		final Lru<V> protect = new Lru<>();
+		final long maxEntries, maxWeight;
+		final long maxProtectedEntries, maxProtectedWeight;
+		long probationWeight, protectedWeight;
+
+		Segment(long maxEntries, long maxWeight) {
+			this.maxEntries = maxEntries;
+			this.maxWeight = maxWeight;
+			this.maxProtectedEntries = (long) (maxEntries * PROTECTED_SHARE);
+			this.maxProtectedWeight = (long) (maxWeight * PROTECTED_SHARE);
+		}
+
+		V get(Key key) {
+			lock.lock();
+			try {
+				Node<V> node = map.get(key);
+				if (node == null) {
+					return null;
+				}
+				if (node.isProtected) {
+					protect.remove(node);
+					protect.addFirst(node);
+				} else {
+					probation.remove(node);
+					probationWeight -= node.weight;
+					node.isProtected = true;
+					protect.addFirst(node);
+					protectedWeight += node.weight;
+					demoteOverflow();
+				}
+				return node.value;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		void put(Key key, V value, long weight, ResultCache<V> cache) {
+			if (weight > maxWeight) {
+				return;
+			}
+			lock.lock();
+			try {
+				Node<V> node = map.get(key);
+				if (node != null) {
+					if (node.isProtected) {
+						protectedWeight += weight - node.weight;
+					} else {
+						probationWeight += weight - node.weight;
+					}
+					node.value = value;
+					node.weight = weight;
+					demoteOverflow();
+				} else {
+					node = new Node<>(key, value, weight);
+					map.put(key, node);
+					probation.addFirst(node);
+					probationWeight += weight;
+				}
+				while (map.size() > maxEntries || probationWeight + protectedWeight > maxWeight) {
+					Node<V> victim = probation.last();
+					if (victim == null) {
+						victim = protect.last();
+						protect.remove(victim);
+						protectedWeight -= victim.weight;
+					} else {
+						probation.remove(victim);
+						probationWeight -= victim.weight;
+					}
+					map.remove(victim.key);
+					cache.evicted(victim.weight);
+				}
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		// Moves protected LRU nodes to the probation head while the protected segment is over its budget
+		private void demoteOverflow() {
+			while (protect.size > maxProtectedEntries || protectedWeight > maxProtectedWeight) {
+				Node<V> node = protect.last();
+				if (node == null) {
+					return;
+				}
+				protect.remove(node);
+				protectedWeight -= node.weight;
+				node.isProtected = false;
+				probation.addFirst(node);
+				probationWeight += node.weight;
+			}
+		}
+
+		void clear() {
+			lock.lock();
+			try {
+				map.clear();
+				probation.head.prev = probation.head.next = probation.head;
+				protect.head.prev = protect.head.next = protect.head;
+				probation.size = protect.size = 0;
+				probationWeight = protectedWeight = 0;
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package st;
+
+import java.util.Arrays;
+
+/*
+ * Zero-copy rotation of a CharSequence.
+ * Character i of the view is base.charAt((offset + i) mod base.length()), so a
+ * view can also be longer than its base (base repeated cyclically). Creating a
+ * view is O(1) and never copies the backing characters, unlike App.leftrotate,
+ * which builds str1 + str1 and then a substring of it.
+ */
+public class RotatedView implements CharSequence {
+
+	private final CharSequence base;
+	private final int offset;
+	private final int length;
+
+	public RotatedView(CharSequence base, int offset, int length) {
+		if (length < 0 || (length > 0 && base.length() == 0)) {
+			throw new IllegalArgumentException("length " + length + " over a base of length " + base.length());
+		}
+		this.base = base;
+		this.offset = base.length() == 0 ? 0 : Math.floorMod(offset, base.length());
+		this.length = length;
+	}
+
+	// Same characters as App.leftrotate(str, n)
+	public static RotatedView left(CharSequence str, int n) {
+		return new RotatedView(str, n, str.length());
+	}
+
+	// Same characters as App.rightrotate(str, n)
+	public static RotatedView right(CharSequence str, int n) {
+		return new RotatedView(str, -n, str.length());
+	}
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+		}
+		int n = base.length();
+		int i = offset + index;
+		if (i >= n) {
+			i = i < 2 * n ? i - n : i % n;
+		}
+		return base.charAt(i);
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		if (start < 0 || end > length || start > end) {
+			throw new IndexOutOfBoundsException("range [" + start + ", " + end + "), length " + length);
+		}
+		return new RotatedView(base, offset + start, end - start);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			sb.append(charAt(i));
+		}
+		return sb.toString();
+	}
+
+	/*
+	 * Booth's algorithm: start of the lexicographically least rotation of s in O(n),
+	 * the smallest such index when several rotations are equal.
+	 */
+	public static int minimalRotationOffset(CharSequence s) {
+		int n = s.length();
+		if (n == 0) {
+			return 0;
+		}
+		int[] failure = new int[2 * n];
+		Arrays.fill(failure, -1);
+		int k = 0;
+		for (int j = 1; j < 2 * n; j++) {
+			char sj = s.charAt(j % n);
+			int i = failure[j - k - 1];
+			while (i != -1 && sj != s.charAt((k + i + 1) % n)) {
+				if (sj < s.charAt((k + i + 1) % n)) {
+					k = j - i - 1;
+				}
+				i = failure[i];
+			}
+			if (sj != s.charAt((k + i + 1) % n)) {
+				// i == -1 here
+				if (sj < s.charAt(k % n)) {
+					k = j;
+				}
+				failure[j - k] = -1;
+			} else {
+				failure[j - k] = i + 1;
+			}
+		}
+		return k % n;
+	}
+
+	public static RotatedView minimalRotation(CharSequence s) {
+		return left(s, minimalRotationOffset(s));
+	}
+
+	// Canonical form for comparing strings up to rotation
+	public static boolean sameNecklace(CharSequence a, CharSequence b) {
+		if (a.length() != b.length()) {
+			return false;
+		}
+		RotatedView x = minimalRotation(a), y = minimalRotation(b);
+		for (int i = 0; i < x.length(); i++) {
+			if (x.charAt(i) != y.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
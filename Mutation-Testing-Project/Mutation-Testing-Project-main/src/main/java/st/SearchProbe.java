@@ -0,0 +1,355 @@
+package st;
+
+import java.util.Arrays;
+
+/*
+ * Instrumented copies of the App pattern searches. Each one runs the same
+ * loop as its App counterpart and counts its work, so App stays uncounted.
+ * With all == false a run stops at the first match like App and
+ * first() is App's return value. With all == true it goes on
+ * to every match:
+ *   rabinKarp, KMPSearch  continue from the match as the algorithm would
+ *   ZAlgorithm            reads every full-length Z value
+ *   BoyerMoore            takes the bad character shift of the char after the match
+ *   horspool              keeps going with the shift it already took
+ * Counters that do not apply to an algorithm are -1. Every run also emits an
+ * AlgorithmEvents.Search event with its comparisons and hash verifications.
+ */
+public final class SearchProbe {
+
+	private SearchProbe() {
+	}
+
+	public static class Result {
+		public final String algorithm;
+		// Match positions in increasing order
+		public final int[] positions;
+		// Character comparisons of the search phase, as executed (KMP may compare the same pair twice)
+		public final long comparisons;
+		// Character comparisons while building the tables, KMP failure function only
+		public final long preprocessComparisons;
+		// Alignments moved on and the total distance moved, -1 for ZAlgorithm
+		public final long shifts;
+		public final long shiftDistance;
+		// Rabin-Karp windows whose hash matched, and those of them that were no match
+		public final long hashHits;
+		public final long hashCollisions;
+		public final long preprocessNanos;
+		public final long searchNanos;
+
+		Result(String algorithm, int[] positions, long comparisons, long preprocessComparisons, long shifts,
+				long shiftDistance, long hashHits, long hashCollisions, long preprocessNanos, long searchNanos) {
+			this.algorithm = algorithm;
+			this.positions = positions;
+			this.comparisons = comparisons;
+			this.preprocessComparisons = preprocessComparisons;
+			this.shifts = shifts;
+			this.shiftDistance = shiftDistance;
+			this.hashHits = hashHits;
+			this.hashCollisions = hashCollisions;
+			this.preprocessNanos = preprocessNanos;
+			this.searchNanos = searchNanos;
+		}
+
+		// First match, -1 when there is none
+		public int first() {
+			return positions.length == 0 ? -1 : positions[0];
+		}
+
+		@Override
+		public String toString() {
+			return algorithm + " positions=" + Arrays.toString(positions) + " comparisons=" + comparisons
+					+ " preprocessComparisons=" + preprocessComparisons + " shifts=" + shifts + " shiftDistance="
+					+ shiftDistance + " hashHits=" + hashHits + " hashCollisions=" + hashCollisions + " preprocessNanos="
+					+ preprocessNanos + " searchNanos=" + searchNanos;
+		}
+	}
+
+	// Growable int[] of match positions
+	private static class Positions {
+		int[] items = new int[4];
+		int size;
+
+		void add(int position) {
+			if (size == items.length) {
+				items = Arrays.copyOf(items, size * 2);
+			}
+			items[size++] = position;
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(items, size);
+		}
+	}
+
+	public static Result rabinKarp(String pattern, String text, int prime, boolean all) {
+		AlgorithmEvents.Search event = new AlgorithmEvents.Search();
+		event.begin();
+		long started = System.nanoTime();
+		int base = 256;
+		int patternLength = pattern.length();
+		int textLength = text.length();
+		int patternHash = 0;
+		int windowHash = 0;
+		int hashFactor = 1;
+		for (int i = 0; i < patternLength - 1; i++) {
+			hashFactor = (hashFactor * base) % prime;
+		}
+		for (int i = 0; i < patternLength; i++) {
+			patternHash = (base * patternHash + pattern.charAt(i)) % prime;
+			windowHash = (base * windowHash + text.charAt(i)) % prime;
+		}
+		long preprocessed = System.nanoTime();
+
+		Positions positions = new Positions();
+		long comparisons = 0, shifts = 0, hits = 0, collisions = 0;
+		for (int i = 0; i <= textLength - patternLength; i++) {
+			if (patternHash == windowHash) {
+				hits++;
+				boolean match = true;
+				for (int j = 0; j < patternLength; j++) {
+					comparisons++;
+					if (text.charAt(i + j) != pattern.charAt(j)) {
+						match = false;
+						break;
+					}
+				}
+				if (match) {
+					positions.add(i);
+					if (!all) {
+						break;
+					}
+				} else {
+					collisions++;
+				}
+			}
+			if (i < textLength - patternLength) {
+				windowHash = (base * (windowHash - text.charAt(i) * hashFactor) + text.charAt(i + patternLength)) % prime;
+				if (windowHash < 0) {
+					windowHash += prime;
+				}
+				shifts++;
+			}
+		}
+		long finished = System.nanoTime();
+		return finish(event, new Result("rabinKarp", positions.toArray(), comparisons, 0, shifts, shifts, hits,
+				collisions, preprocessed - started, finished - preprocessed), textLength, patternLength);
+	}
+
+	public static Result ZAlgorithm(String text, String pattern, boolean all) {
+		AlgorithmEvents.Search event = new AlgorithmEvents.Search();
+		event.begin();
+		long started = System.nanoTime();
+		String concat = pattern + "$" + text;
+		int l = concat.length();
+		int[] Z = new int[l];
+		long preprocessed = System.nanoTime();
+
+		long comparisons = 0;
+		int L = 0, R = 0;
+		for (int i = 1; i < l; i++) {
+			if (i > R) {
+				L = R = i;
+				while (R < l) {
+					comparisons++;
+					if (concat.charAt(R) != concat.charAt(R - L)) {
+						break;
+					}
+					R++;
+				}
+				Z[i] = R - L;
+				R--;
+			} else {
+				int k = i - L;
+				if (Z[k] < R - i + 1) {
+					Z[i] = Z[k];
+				} else {
+					L = i;
+					while (R < l) {
+						comparisons++;
+						if (concat.charAt(R) != concat.charAt(R - L)) {
+							break;
+						}
+						R++;
+					}
+					Z[i] = R - L;
+					R--;
+				}
+			}
+		}
+		Positions positions = new Positions();
+		for (int i = 0; i < l; i++) {
+			if (Z[i] == pattern.length()) {
+				positions.add(i - pattern.length() - 1);
+				if (!all) {
+					break;
+				}
+			}
+		}
+		long finished = System.nanoTime();
+		return finish(event, new Result("ZAlgorithm", positions.toArray(), comparisons, 0, -1, -1, -1, -1,
+				preprocessed - started, finished - preprocessed), text.length(), pattern.length());
+	}
+
+	public static Result KMPSearch(CharSequence pattern, CharSequence text, boolean all) {
+		AlgorithmEvents.Search event = new AlgorithmEvents.Search();
+		event.begin();
+		long started = System.nanoTime();
+		int patternLength = pattern.length();
+		int textLength = text.length();
+		int[] lps = new int[patternLength];
+		int prefixLength = 0;
+		long preprocessComparisons = 0;
+		for (int i = 1; i < patternLength; ) {
+			preprocessComparisons++;
+			if (pattern.charAt(i) == pattern.charAt(prefixLength)) {
+				prefixLength++;
+				lps[i] = prefixLength;
+				i++;
+			} else {
+				if (prefixLength != 0) {
+					prefixLength = lps[prefixLength - 1];
+				} else {
+					lps[i] = 0;
+					i++;
+				}
+			}
+		}
+		long preprocessed = System.nanoTime();
+
+		Positions positions = new Positions();
+		long comparisons = 0, shifts = 0, distance = 0;
+		int textIndex = 0, patternIndex = 0;
+		while (textIndex < textLength) {
+			comparisons++;
+			if (pattern.charAt(patternIndex) == text.charAt(textIndex)) {
+				textIndex++;
+				patternIndex++;
+			}
+			if (patternIndex == patternLength) {
+				positions.add(textIndex - patternIndex);
+				if (!all) {
+					break;
+				}
+				// Next alignment: the longest proper border of the match
+				shifts++;
+				distance += patternIndex - lps[patternIndex - 1];
+				patternIndex = lps[patternIndex - 1];
+			} else if (textIndex < textLength) {
+				comparisons++;
+				if (pattern.charAt(patternIndex) != text.charAt(textIndex)) {
+					shifts++;
+					if (patternIndex != 0) {
+						distance += patternIndex - lps[patternIndex - 1];
+						patternIndex = lps[patternIndex - 1];
+					} else {
+						distance++;
+						textIndex++;
+					}
+				}
+			}
+		}
+		long finished = System.nanoTime();
+		return finish(event, new Result("KMPSearch", positions.toArray(), comparisons, preprocessComparisons, shifts,
+				distance, -1, -1, preprocessed - started, finished - preprocessed), textLength, patternLength);
+	}
+
+	// Text and pattern chars must be below 256, as in App.BoyerMoore
+	public static Result BoyerMoore(char[] txt, char[] pat, boolean all) {
+		AlgorithmEvents.Search event = new AlgorithmEvents.Search();
+		event.begin();
+		long started = System.nanoTime();
+		int m = pat.length;
+		int n = txt.length;
+		int[] badchar = new int[256];
+		Arrays.fill(badchar, -1);
+		for (int i = 0; i < m; i++) {
+			badchar[pat[i]] = i;
+		}
+		long preprocessed = System.nanoTime();
+
+		Positions positions = new Positions();
+		long comparisons = 0, shifts = 0, distance = 0;
+		int s = 0;
+		while (s <= n - m) {
+			int j = m - 1;
+			while (j >= 0) {
+				comparisons++;
+				if (pat[j] != txt[s + j]) {
+					break;
+				}
+				j--;
+			}
+			int shift;
+			if (j < 0) {
+				positions.add(s);
+				if (!all) {
+					break;
+				}
+				shift = s + m < n ? m - badchar[txt[s + m]] : 1;
+			} else {
+				shift = Math.max(1, j - badchar[txt[s + j]]);
+			}
+			s += shift;
+			shifts++;
+			distance += shift;
+		}
+		long finished = System.nanoTime();
+		return finish(event, new Result("BoyerMoore", positions.toArray(), comparisons, 0, shifts, distance, -1, -1,
+				preprocessed - started, finished - preprocessed), n, m);
+	}
+
+	/*
+	 * The Horspool loop of App.horspool and App.getShifts as a plain search, the
+	 * match position instead of App's repetition count. Chars must be 'a'..'z'.
+	 */
+	public static Result horspool(char[] txt, char[] pat, boolean all) {
+		AlgorithmEvents.Search event = new AlgorithmEvents.Search();
+		event.begin();
+		long started = System.nanoTime();
+		int n = pat.length;
+		int m = txt.length;
+		int[] table = new int[26];
+		Arrays.fill(table, n);
+		for (int i = 0; i < n - 1; i++) {
+			table[pat[i] - 97] = n - i - 1;
+		}
+		long preprocessed = System.nanoTime();
+
+		Positions positions = new Positions();
+		long comparisons = 0, shifts = 0, distance = 0;
+		int i = n - 1;
+		while (i < m) {
+			int k = i;
+			int j = n - 1;
+			int shift = table[txt[i] - 97];
+			i += shift;
+			shifts++;
+			distance += shift;
+			// k moves on even after a mismatch, as in App.horspool
+			while (k >= 0 && j >= 0) {
+				comparisons++;
+				if (txt[k--] != pat[j]) {
+					break;
+				}
+				j--;
+			}
+			if (j < 0) {
+				// k stopped one before the match start
+				positions.add(k + 1);
+				if (!all) {
+					break;
+				}
+			}
+		}
+		long finished = System.nanoTime();
+		return finish(event, new Result("horspool", positions.toArray(), comparisons, 0, shifts, distance, -1, -1,
+				preprocessed - started, finished - preprocessed), m, n);
+	}
+
+	private static Result finish(AlgorithmEvents.Search event, Result result, long textLength, long patternLength) {
+		event.finish("SearchProbe." + result.algorithm, textLength, patternLength, result.first(),
+				result.comparisons + result.preprocessComparisons, result.hashHits);
+		return result;
+	}
+}
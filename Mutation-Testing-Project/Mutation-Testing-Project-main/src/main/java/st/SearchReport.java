@@ -0,0 +1,175 @@
+package st;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/*
+ * Runs every SearchProbe algorithm on a corpus of (text, pattern) samples and
+ * sums the work counters per algorithm.
+ *
+ *   SearchReport [--all] [--prime P] [file ...]
+ *
+ * Each file is one text, searched for PATTERNS_PER_FILE substrings of it. With
+ * no files a built-in sample corpus is used: random, low entropy and
+ * adversarial ("aaa...ab") texts. --all counts every match instead of stopping
+ * at the first one, --prime sets the Rabin-Karp modulus (default 101, small
+ * enough that hash collisions show up). Samples an algorithm cannot take are
+ * skipped and counted: horspool only takes 'a'..'z', BoyerMoore chars below 256.
+ */
+public class SearchReport {
+
+	static final int PATTERNS_PER_FILE = 8;
+	static final int DEFAULT_PRIME = 101;
+
+	static final String[] ALGORITHMS = { "rabinKarp", "ZAlgorithm", "KMPSearch", "BoyerMoore", "horspool" };
+
+	// Counters of one algorithm summed over the corpus
+	static class Totals {
+		long runs, skipped, matches, comparisons, preprocessComparisons, shifts, shiftDistance, hashHits,
+				hashCollisions, preprocessNanos, searchNanos, textChars;
+
+		void add(SearchProbe.Result result, int textLength) {
+			runs++;
+			matches += result.positions.length;
+			comparisons += result.comparisons;
+			preprocessComparisons += result.preprocessComparisons;
+			shifts += Math.max(0, result.shifts);
+			shiftDistance += Math.max(0, result.shiftDistance);
+			hashHits += Math.max(0, result.hashHits);
+			hashCollisions += Math.max(0, result.hashCollisions);
+			preprocessNanos += result.preprocessNanos;
+			searchNanos += result.searchNanos;
+			textChars += textLength;
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		boolean all = false;
+		int prime = DEFAULT_PRIME;
+		List<String> texts = new ArrayList<>();
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("--all")) {
+				all = true;
+			} else if (args[i].equals("--prime")) {
+				prime = Integer.parseInt(args[++i]);
+			} else {
+				texts.add(new String(Files.readAllBytes(Paths.get(args[i])), StandardCharsets.UTF_8));
+			}
+		}
+		List<String[]> samples = texts.isEmpty() ? sampleCorpus() : samples(texts, new Random(45));
+		System.out.print(format(summarize(samples, prime, all), samples.size()));
+	}
+
+	// PATTERNS_PER_FILE substrings of 4 to 64 chars of every text, as {text, pattern}
+	static List<String[]> samples(List<String> texts, Random random) {
+		List<String[]> samples = new ArrayList<>();
+		for (String text : texts) {
+			if (text.isEmpty()) {
+				continue;
+			}
+			for (int k = 0; k < PATTERNS_PER_FILE; k++) {
+				int length = Math.min(text.length(), 4 + random.nextInt(61));
+				int from = random.nextInt(text.length() - length + 1);
+				samples.add(new String[] { text, text.substring(from, from + length) });
+			}
+		}
+		return samples;
+	}
+
+	// Random, low entropy and adversarial texts of 4096 chars, patterns of 4, 16 and 64
+	static List<String[]> sampleCorpus() {
+		Random random = new Random(45);
+		List<String[]> samples = new ArrayList<>();
+		int n = 4096;
+		StringBuilder uniform = new StringBuilder(n), lowEntropy = new StringBuilder(n);
+		for (int i = 0; i < n; i++) {
+			uniform.append((char) ('a' + random.nextInt(26)));
+			lowEntropy.append(random.nextInt(16) == 0 ? 'b' : 'a');
+		}
+		String adversarial = "a".repeat(n - 1) + "b";
+		for (int m : new int[] { 4, 16, 64 }) {
+			for (String text : new String[] { uniform.toString(), lowEntropy.toString() }) {
+				// Present late in the text, and most likely absent
+				int from = n * 3 / 4 + random.nextInt(n / 4 - m);
+				samples.add(new String[] { text, text.substring(from, from + m) });
+				samples.add(new String[] { text, text.substring(from, from + m - 1) + "z" });
+			}
+			samples.add(new String[] { adversarial, "a".repeat(m - 1) + "c" });
+			samples.add(new String[] { adversarial, "a".repeat(m - 1) + "b" });
+		}
+		return samples;
+	}
+
+	static Map<String, Totals> summarize(List<String[]> samples, int prime, boolean all) {
+		Map<String, Totals> totals = new LinkedHashMap<>();
+		for (String algorithm : ALGORITHMS) {
+			totals.put(algorithm, new Totals());
+		}
+		for (String[] sample : samples) {
+			String text = sample[0], pattern = sample[1];
+			if (pattern.isEmpty() || pattern.length() > text.length()) {
+				for (Totals t : totals.values()) {
+					t.skipped++;
+				}
+				continue;
+			}
+			char[] txt = text.toCharArray(), pat = pattern.toCharArray();
+			totals.get("rabinKarp").add(SearchProbe.rabinKarp(pattern, text, prime, all), txt.length);
+			totals.get("ZAlgorithm").add(SearchProbe.ZAlgorithm(text, pattern, all), txt.length);
+			totals.get("KMPSearch").add(SearchProbe.KMPSearch(pattern, text, all), txt.length);
+			if (below(txt, 256) && below(pat, 256)) {
+				totals.get("BoyerMoore").add(SearchProbe.BoyerMoore(txt, pat, all), txt.length);
+			} else {
+				totals.get("BoyerMoore").skipped++;
+			}
+			if (lowercase(txt) && lowercase(pat)) {
+				totals.get("horspool").add(SearchProbe.horspool(txt, pat, all), txt.length);
+			} else {
+				totals.get("horspool").skipped++;
+			}
+		}
+		return totals;
+	}
+
+	static String format(Map<String, Totals> totals, int samples) {
+		StringBuilder out = new StringBuilder();
+		out.append(String.format("%d samples%n", samples));
+		out.append(String.format("%-11s %5s %5s %7s %12s %9s %9s %10s %9s %9s %10s %11s %11s%n", "algorithm", "runs",
+				"skip", "matches", "comparisons", "cmp/char", "prep cmp", "shifts", "avg shift", "hash hits",
+				"collisions", "prep us", "search us"));
+		for (Map.Entry<String, Totals> entry : totals.entrySet()) {
+			Totals t = entry.getValue();
+			out.append(String.format("%-11s %5d %5d %7d %12d %9.3f %9d %10d %9.2f %9d %10d %11.1f %11.1f%n",
+					entry.getKey(), t.runs, t.skipped, t.matches, t.comparisons,
+					t.textChars == 0 ? 0.0 : (double) t.comparisons / t.textChars, t.preprocessComparisons, t.shifts,
+					t.shifts == 0 ? 0.0 : (double) t.shiftDistance / t.shifts, t.hashHits, t.hashCollisions,
+					t.preprocessNanos / 1e3, t.searchNanos / 1e3));
+		}
+		return out.toString();
+	}
+
+	private static boolean below(char[] chars, int limit) {
+		for (char c : chars) {
+			if (c >= limit) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean lowercase(char[] chars) {
+		for (char c : chars) {
+			if (c < 'a' || c > 'z') {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,359 @@
+package st;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+
+/*
+ * Allocation-light engine for App.minStickers.
+ * Targets of up to SUBSET_LIMIT letters search over subsets of target positions
+ * (an int mask with a bit set of visited masks). Longer targets run the same BFS
+ * as App.minStickers, but every frequency state is packed into one long (mixed
+ * radix with power-of-two digits, so digit k, the remaining count of the k-th
+ * distinct target letter, is read with a shift and a mask instead of a division),
+ * deduplicated in a primitive open-addressing set and queued in a long[]
+ * instead of LinkedList<int[]> / HashSet<String>.
+ * Like App.minStickers it expects lowercase 'a'..'z' input.
+ * Each expanded state is a step of the call's Budget. minStickers(stickers,
+ * target) runs with Budget.unlimited(), so an interrupt of the thread stops it
+ * with a CancellationException.
+ */
+public class StickerSolver {
+
+	static final int SUBSET_LIMIT = 15;
+
+	// Work of the last minStickers call, reported in its AlgorithmEvents.Solver event
+	private long expanded;
+	private long stored;
+	private Budget budget;
+
+	public int minStickers(String[] stickers, String target) {
+		Budget.Result<Integer> result = minStickers(stickers, target, Budget.unlimited());
+		if (!result.isDone()) {
+			throw new CancellationException("minStickers interrupted");
+		}
+		return result.value;
+	}
+
+	// When the budget runs out first the value is the BFS level reached, a lower bound on the stickers
+	public Budget.Result<Integer> minStickers(String[] stickers, String target, Budget budget) {
+		AlgorithmEvents.Solver event = new AlgorithmEvents.Solver();
+		event.begin();
+		expanded = -1;
+		stored = -1;
+		this.budget = budget;
+		int result = solve(stickers, target);
+		boolean done = budget.status() == Budget.Status.DONE;
+		event.finish("StickerSolver", target.length(), stickers.length, done ? result : -1, expanded, stored);
+		return budget.result(result, stored);
+	}
+
+	private int solve(String[] stickers, String target) {
+		if (target.isEmpty()) {
+			return 0;
+		}
+
+		// Optimization 1 of App.minStickers: only count letters present in the target
+		int[] targetNaiveCount = new int[26];
+		for (int k = 0; k < target.length(); k++) {
+			targetNaiveCount[target.charAt(k) - 'a']++;
+		}
+		int[] index = new int[26];
+		int N = 0;
+		for (int c = 0; c < 26; c++) {
+			index[c] = targetNaiveCount[c] > 0 ? N++ : -1;
+		}
+		int[] targetCount = new int[N];
+		for (int c = 0; c < 26; c++) {
+			if (index[c] >= 0) {
+				targetCount[index[c]] = targetNaiveCount[c];
+			}
+		}
+		int[][] stickersCount = new int[stickers.length][N];
+		for (int i = 0; i < stickers.length; i++) {
+			for (int k = 0; k < stickers[i].length(); k++) {
+				int j = index[stickers[i].charAt(k) - 'a'];
+				if (j >= 0) {
+					stickersCount[i][j]++;
+				}
+			}
+		}
+
+		// A target letter that no sticker has makes the target unreachable
+		for (int k = 0; k < N; k++) {
+			boolean found = false;
+			for (int[] sticker : stickersCount) {
+				found |= sticker[k] > 0;
+			}
+			if (!found) {
+				return -1;
+			}
+		}
+		stickersCount = removeDominated(stickersCount);
+
+		if (target.length() <= SUBSET_LIMIT) {
+			int[] letterMasks = new int[N];
+			for (int p = 0; p < target.length(); p++) {
+				letterMasks[index[target.charAt(p) - 'a']] |= 1 << p;
+			}
+			return solveSubsets(stickersCount, letterMasks, target.length());
+		}
+		if (!fitsInLong(targetCount)) {
+			// Too many states to pack, use the reference BFS
+			return new App().minStickers(Arrays.asList(stickers), stickers.length, target, budget);
+		}
+		return solvePacked(stickersCount, targetCount);
+	}
+
+	// Bits of digit k: enough to hold targetCount[k]
+	private static int digitBits(int count) {
+		return 32 - Integer.numberOfLeadingZeros(count);
+	}
+
+	static boolean fitsInLong(int[] targetCount) {
+		int bits = 0;
+		for (int count : targetCount) {
+			bits += digitBits(count);
+		}
+		return bits <= 63;
+	}
+
+	/*
+	 * BFS over subsets of covered target positions, so the first full mask reached is optimal.
+	 * letterMasks[k] holds the positions of the k-th distinct letter, a sticker with m copies
+	 * of that letter covers its m lowest uncovered positions.
+	 */
+	int solveSubsets(int[][] stickersCount, int[] letterMasks, int length) {
+		int N = letterMasks.length;
+		int full = (1 << length) - 1;
+		// Bit set of visited masks, at most 4 KB for SUBSET_LIMIT positions
+		long[] visited = new long[Math.max(1, (1 << length) >>> 6)];
+		LongQueue queue = new LongQueue();
+		queue.add(0);
+		visited[0] = 1;
+		expanded = 0;
+		stored = 1;
+		int steps = 0;
+		while (!queue.isEmpty()) {
+			steps++;
+			int size = queue.size();
+			while (size-- > 0) {
+				int mask = (int) queue.poll();
+				if (!budget.step()) {
+					return steps;
+				}
+				expanded++;
+				// Only stickers that cover the letter at the first uncovered position are tried
+				int firstPos = Integer.numberOfTrailingZeros(~mask);
+				int first = 0;
+				while ((letterMasks[first] & (1 << firstPos)) == 0) {
+					first++;
+				}
+				for (int[] sticker : stickersCount) {
+					if (sticker[first] == 0) {
+						continue;
+					}
+					int next = mask;
+					for (int k = 0; k < N; k++) {
+						for (int m = sticker[k]; m > 0; m--) {
+							int free = letterMasks[k] & ~next;
+							if (free == 0) {
+								break;
+							}
+							next |= free & -free;
+						}
+					}
+					if (next == full) {
+						return steps;
+					}
+					if ((visited[next >>> 6] & (1L << next)) == 0) {
+						visited[next >>> 6] |= 1L << next;
+						stored++;
+						queue.add(next);
+					}
+				}
+			}
+		}
+		return -1;
+	}
+
+	int solvePacked(int[][] stickersCount, int[] targetCount) {
+		if (!fitsInLong(targetCount)) {
+			throw new IllegalArgumentException("target state space does not fit in a long");
+		}
+		int N = targetCount.length;
+		int[] shift = new int[N];
+		long[] mask = new long[N];
+		long start = 0;
+		for (int k = 0, bits = 0; k < N; k++) {
+			shift[k] = bits;
+			mask[k] = (1L << digitBits(targetCount[k])) - 1;
+			start |= (long) targetCount[k] << bits;
+			bits += digitBits(targetCount[k]);
+		}
+
+		LongQueue queue = new LongQueue();
+		LongSet visited = new LongSet();
+		queue.add(start);
+		visited.add(start);
+		expanded = 0;
+		stored = 1;
+		int steps = 0;
+		int[] freq = new int[N];
+		while (!queue.isEmpty()) {
+			steps++;
+			int size = queue.size();
+			while (size-- > 0) {
+				long state = queue.poll();
+				if (!budget.step()) {
+					return steps;
+				}
+				expanded++;
+				int first = -1;
+				for (int k = 0; k < N; k++) {
+					freq[k] = (int) ((state >>> shift[k]) & mask[k]);
+					if (first < 0 && freq[k] > 0) {
+						first = k;
+					}
+				}
+				for (int[] sticker : stickersCount) {
+					if (sticker[first] == 0) {
+						continue;
+					}
+					long next = 0;
+					for (int k = 0; k < N; k++) {
+						next |= (long) Math.max(freq[k] - sticker[k], 0) << shift[k];
+					}
+					if (next == 0) {
+						return steps;
+					}
+					if (visited.add(next)) {
+						stored++;
+						queue.add(next);
+					}
+				}
+			}
+		}
+		return -1;
+	}
+
+	// Drops every sticker whose counts are all <= those of another sticker
+	private int[][] removeDominated(int[][] stickers) {
+		int[][] kept = new int[stickers.length][];
+		int size = 0;
+		for (int i = 0; i < stickers.length; i++) {
+			boolean dominated = false;
+			for (int j = 0; j < stickers.length && !dominated; j++) {
+				if (j == i) {
+					continue;
+				}
+				int k = 0;
+				while (k < stickers[i].length && stickers[i][k] <= stickers[j][k]) {
+					k++;
+				}
+				// Identical stickers: keep only the first one
+				dominated = k == stickers[i].length && (j < i || !Arrays.equals(stickers[i], stickers[j]));
+			}
+			if (!dominated) {
+				kept[size++] = stickers[i];
+			}
+		}
+		return Arrays.copyOf(kept, size);
+	}
+
+	// Growable ring buffer of longs
+	static class LongQueue {
+		private long[] items = new long[64];
+		private int head, size;
+
+		void add(long value) {
+			if (size == items.length) {
+				long[] grown = new long[items.length * 2];
+				for (int i = 0; i < size; i++) {
+					grown[i] = items[(head + i) & (items.length - 1)];
+				}
+				items = grown;
+				head = 0;
+			}
+			items[(head + size++) & (items.length - 1)] = value;
+		}
+
+		long poll() {
+			long value = items[head];
+			head = (head + 1) & (items.length - 1);
+			size--;
+			return value;
+		}
+
+		int size() {
+			return size;
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
+	}
+
+	// Open addressing set of longs, linear probing, 0 is stored out of band
+	static class LongSet {
+		private long[] keys = new long[256];
+		private int size;
+		private boolean hasZero;
+
+		boolean add(long key) {
+			if (key == 0) {
+				boolean added = !hasZero;
+				hasZero = true;
+				return added;
+			}
+			if ((size + 1) * 2 > keys.length) {
+				long[] old = keys;
+				keys = new long[old.length * 2];
+				for (long k : old) {
+					if (k != 0) {
+						insert(k);
+					}
+				}
+			}
+			if (insert(key)) {
+				size++;
+				return true;
+			}
+			return false;
+		}
+
+		boolean contains(long key) {
+			if (key == 0) {
+				return hasZero;
+			}
+			int mask = keys.length - 1;
+			for (int i = slot(key, mask); keys[i] != 0; i = (i + 1) & mask) {
+				if (keys[i] == key) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		int size() {
+			return size + (hasZero ? 1 : 0);
+		}
+
+		private boolean insert(long key) {
+			int mask = keys.length - 1;
+			int i = slot(key, mask);
+			while (keys[i] != 0) {
+				if (keys[i] == key) {
+					return false;
+				}
+				i = (i + 1) & mask;
+			}
+			keys[i] = key;
+			return true;
+		}
+
+		private static int slot(long key, int mask) {
+			long h = key * 0x9E3779B97F4A7C15L;
+			return (int) (h ^ (h >>> 32)) & mask;
+		}
+	}
+}
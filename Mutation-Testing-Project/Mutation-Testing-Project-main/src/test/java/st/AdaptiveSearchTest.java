@@ -0,0 +1,62 @@
+package st;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the adaptive search facade.
+ */
+public class AdaptiveSearchTest {
+    App obj = new App();
+
+    @Test
+    public void testAgreesWithKMPSearch() {
+        Random random = new Random(46);
+        char[][] alphabets = { "ab".toCharArray(), "abcdefghijklmnopqrstuvwxyz".toCharArray(),
+                "aéλ中😀ĀȀ".toCharArray() };
+        for (int round = 0; round < 5000; round++) {
+            char[] alphabet = alphabets[random.nextInt(alphabets.length)];
+            String text = randomString(random, random.nextInt(400), alphabet);
+            String pattern;
+            if (text.length() > 0 && random.nextBoolean()) {
+                int from = random.nextInt(text.length());
+                pattern = text.substring(from, from + 1 + random.nextInt(Math.min(40, text.length() - from)));
+            } else {
+                pattern = randomString(random, 1 + random.nextInt(random.nextBoolean() ? 6 : 60), alphabet);
+            }
+            int expected = obj.KMPSearch(pattern, text);
+            assertEquals(pattern + " in " + text, expected, obj.search(pattern, text));
+            assertEquals(expected, AdaptiveSearch.horspool(pattern, text));
+            assertEquals(expected, AdaptiveSearch.search(new StringBuilder(pattern), new StringBuilder(text)));
+        }
+    }
+
+    @Test
+    public void testChoice() {
+        String random = "thequickbrownfoxjumpsoverthelazydog".repeat(10);
+        String binary = "abaabbbaababbbab".repeat(20);
+        assertEquals(AdaptiveSearch.Strategy.INDEX_OF, AdaptiveSearch.choose("fox", random));
+        assertEquals(AdaptiveSearch.Strategy.INDEX_OF, AdaptiveSearch.choose(random.substring(100, 140), random));
+        assertEquals(AdaptiveSearch.Strategy.HORSPOOL, AdaptiveSearch.choose(random.substring(0, 100), random));
+        assertEquals(AdaptiveSearch.Strategy.KMP, AdaptiveSearch.choose(binary.substring(50, 90), binary));
+        assertEquals(AdaptiveSearch.Strategy.KMP, AdaptiveSearch.choose("", random));
+        assertEquals(AdaptiveSearch.Strategy.HORSPOOL, AdaptiveSearch.choose(new StringBuilder("fox"), random));
+        assertEquals(-1, obj.search(random, "fox"));
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void testEmptyPatternFailsLikeKMPSearch() {
+        obj.search("", "abc");
+    }
+
+    private static String randomString(Random random, int length, char[] alphabet) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = alphabet[random.nextInt(alphabet.length)];
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,137 @@
+package st;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Unit tests for the Flight Recorder events of searches, DPs, solvers and index builds.
+ */
+public class AlgorithmEventsTest {
+    App obj = new App();
+    MeteredApp metered = new MeteredApp(obj);
+
+    @Test
+    public void testSearchAndDpEvents() throws IOException {
+        List<RecordedEvent> events = record(Duration.ZERO, app -> {
+            assertEquals(obj.KMPSearch("aab", "xaabaab"), app.KMPSearch("aab", "xaabaab"));
+            assertEquals(obj.rabinKarp("ab", "cab", 101), app.rabinKarp("ab", "cab", 101));
+            assertEquals(3, app.LCS("abcde".toCharArray(), "ace".toCharArray(), 5, 3));
+            assertEquals(true, app.wordBreak1("catsdog", Arrays.asList("cats", "dog")));
+            return null;
+        });
+        RecordedEvent kmp = find(events, "st.Search", "KMPSearch");
+        assertEquals(7, kmp.getLong("textLength"));
+        assertEquals(3, kmp.getLong("patternLength"));
+        assertEquals(obj.KMPSearch("aab", "xaabaab"), kmp.getLong("result"));
+        assertEquals(-1, kmp.getLong("comparisons"));
+        find(events, "st.Search", "rabinKarp");
+        RecordedEvent lcs = find(events, "st.DynamicProgramming", "LCS");
+        assertEquals(5, lcs.getLong("firstSize"));
+        assertEquals(3, lcs.getLong("secondSize"));
+        assertEquals(24, lcs.getLong("cells"));
+        assertEquals(3, lcs.getLong("result"));
+        assertEquals(1, find(events, "st.DynamicProgramming", "wordBreak1").getLong("result"));
+    }
+
+    @Test
+    public void testThresholdFiltersShortCalls() throws IOException {
+        List<RecordedEvent> events = record(Duration.ofHours(1), app -> app.KMPSearch("aab", "xaabaab"));
+        assertEquals(0, count(events, "st.Search"));
+    }
+
+    @Test
+    public void testSolverEventsCountStates() throws IOException {
+        List<RecordedEvent> events = record(Duration.ZERO, app -> {
+            String[] stickers = { "with", "example", "science" };
+            assertEquals(3, new StickerSolver().minStickers(stickers, "thehat"));
+            assertEquals(3, app.minStickers(stickers, "thehat"));
+            new KSimilaritySolver().solve("abcdefabcdef", "fedcbafedcba");
+            return null;
+        });
+        RecordedEvent stickers = find(events, "st.Solver", "StickerSolver");
+        assertEquals(6, stickers.getLong("inputSize"));
+        assertEquals(3, stickers.getLong("choices"));
+        assertEquals(3, stickers.getLong("result"));
+        assertTrue(stickers.getLong("statesExpanded") > 0);
+        assertTrue(stickers.getLong("statesStored") >= stickers.getLong("statesExpanded"));
+        RecordedEvent bfs = find(events, "st.Solver", "minStickers");
+        assertEquals(-1, bfs.getLong("statesExpanded"));
+        RecordedEvent similarity = find(events, "st.Solver", "KSimilaritySolver");
+        assertEquals(obj.kSimilarity("abcdefabcdef", "fedcbafedcba"), similarity.getLong("result"));
+        assertTrue(similarity.getLong("statesExpanded") >= 0);
+    }
+
+    @Test
+    public void testIndexBuildEvents() throws IOException {
+        List<RecordedEvent> events = record(Duration.ZERO, app -> {
+            new FrontCodedDictionary("cat", "cats", "cat", "dog");
+            new PrefixTrie(new String[] { "flower", "flow", "flight" });
+            new PalindromeIndex("abacaba");
+            return null;
+        });
+        RecordedEvent dictionary = find(events, "st.IndexBuild", "FrontCodedDictionary");
+        assertEquals(3, dictionary.getLong("entries"));
+        assertEquals(13, dictionary.getLong("inputChars"));
+        assertEquals(new FrontCodedDictionary("cat", "cats", "dog").memoryBytes(), dictionary.getLong("memoryBytes"));
+        RecordedEvent trie = find(events, "st.IndexBuild", "PrefixTrie");
+        assertEquals(3, trie.getLong("entries"));
+        assertEquals(new PrefixTrie(new String[] { "flower", "flow", "flight" }).nodeCount(), trie.getLong("nodes"));
+        RecordedEvent palindromes = find(events, "st.IndexBuild", "PalindromeIndex");
+        assertEquals(7, palindromes.getLong("entries"));
+        assertEquals(new PalindromeIndex("abacaba").memoryBytes(), palindromes.getLong("memoryBytes"));
+    }
+
+    @Test
+    public void testNoRecordingNoEvents() {
+        assertEquals(false, new AlgorithmEvents.Search().isEnabled());
+        assertEquals(obj.KMPSearch("ab", "aab"), metered.KMPSearch("ab", "aab"));
+    }
+
+    // Runs calls under a recording of the st.* events with the given threshold and returns the events
+    private List<RecordedEvent> record(Duration threshold, Function<MeteredApp, Object> calls) throws IOException {
+        Path file = Files.createTempFile("algorithm-events", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : new String[] { "st.Search", "st.DynamicProgramming", "st.Solver", "st.IndexBuild" }) {
+                recording.enable(name).withThreshold(threshold);
+            }
+            recording.start();
+            calls.apply(metered);
+            recording.stop();
+            recording.dump(file);
+            return new ArrayList<>(RecordingFile.readAllEvents(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, String type, String algorithm) {
+        for (RecordedEvent event : events) {
+            if (event.getEventType().getName().equals(type)) {
+                String name = event.hasField("algorithm") ? event.getString("algorithm") : event.getString("structure");
+                if (name.equals(algorithm)) {
+                    return event;
+                }
+            }
+        }
+        throw new AssertionError("no " + type + " event for " + algorithm + " in " + events);
+    }
+
+    private static long count(List<RecordedEvent> events, String type) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(type)).count();
+    }
+}
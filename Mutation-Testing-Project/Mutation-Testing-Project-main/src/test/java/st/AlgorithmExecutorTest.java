@@ -0,0 +1,182 @@
+package st;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the virtual thread job executor.
+ */
+public class AlgorithmExecutorTest {
+    App obj = new App();
+
+    // Runs until interrupted. It sleeps rather than spins: a spinning virtual thread
+    // would keep its carrier, and on one CPU no other job could start
+    private static AlgorithmExecutor.Job<Integer> spin(CountDownLatch started) {
+        return AlgorithmExecutor.Job.of("spin", () -> {
+            started.countDown();
+            while (true) {
+                Thread.sleep(1);
+            }
+        });
+    }
+
+    @Test
+    public void testBatchResultsInOrder() throws InterruptedException {
+        Random random = new Random(48);
+        List<AlgorithmExecutor.Job<?>> jobs = new ArrayList<>();
+        List<Object> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String a = randomString(random, 1 + random.nextInt(10)), b = randomString(random, 1 + random.nextInt(10));
+            int[][] memo = new int[a.length() + 1][b.length() + 1];
+            for (int[] row : memo) {
+                Arrays.fill(row, -1);
+            }
+            jobs.add(AlgorithmExecutor.Job.editDistance(a, b));
+            expected.add(obj.calculateEditDistance(a, b, a.length(), b.length(), memo));
+            jobs.add(AlgorithmExecutor.Job.search(b, a));
+            expected.add(obj.KMPSearch(b, a));
+        }
+        List<String> dict = Arrays.asList("cat", "cats", "and", "sand", "dog");
+        jobs.add(AlgorithmExecutor.Job.wordBreak2("catsanddog", dict));
+        expected.add(obj.wordBreak2("catsanddog", dict));
+        jobs.add(AlgorithmExecutor.Job.minStickers(new String[] { "with", "example", "science" }, "thehat"));
+        expected.add(3);
+        jobs.add(AlgorithmExecutor.Job.kSimilarity("abc", "bca"));
+        expected.add(2);
+        jobs.add(AlgorithmExecutor.Job.lcs("ABCBDAB", "BDCABA"));
+        expected.add(4);
+
+        try (AlgorithmExecutor executor = new AlgorithmExecutor(4)) {
+            List<AlgorithmExecutor.Outcome<Object>> outcomes = executor.runAll(jobs);
+            assertEquals(jobs.size(), outcomes.size());
+            for (int i = 0; i < outcomes.size(); i++) {
+                assertEquals(AlgorithmExecutor.Status.DONE, outcomes.get(i).status);
+                assertEquals(jobs.get(i).name(), outcomes.get(i).job);
+                assertEquals(expected.get(i), outcomes.get(i).value);
+            }
+            assertEquals(0, executor.pending());
+        }
+    }
+
+    @Test
+    public void testConcurrencyIsBounded() throws InterruptedException {
+        AtomicInteger active = new AtomicInteger(), peak = new AtomicInteger();
+        List<AlgorithmExecutor.Job<Integer>> jobs = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            jobs.add(AlgorithmExecutor.Job.of("sleep", () -> {
+                peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+                Thread.sleep(1);
+                active.decrementAndGet();
+                return 1;
+            }));
+        }
+        try (AlgorithmExecutor executor = new AlgorithmExecutor(3)) {
+            for (AlgorithmExecutor.Outcome<Integer> outcome : executor.runAll(jobs)) {
+                assertEquals(AlgorithmExecutor.Status.DONE, outcome.status);
+            }
+        }
+        assertTrue(peak.get() + " running", peak.get() <= 3);
+    }
+
+    @Test
+    public void testTimeoutStopsTheJobAndFreesItsPermit() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        try (AlgorithmExecutor executor = new AlgorithmExecutor(1)) {
+            AlgorithmExecutor.Handle<Integer> slow = executor.submit(spin(started).withTimeout(Duration.ofMillis(50)));
+            AlgorithmExecutor.Handle<Integer> next = executor.submit(AlgorithmExecutor.Job.of("next", () -> 7));
+            AlgorithmExecutor.Outcome<Integer> outcome = slow.join();
+            assertEquals(AlgorithmExecutor.Status.TIMED_OUT, outcome.status);
+            assertTrue(outcome.elapsedNanos >= TimeUnit.MILLISECONDS.toNanos(50));
+            // The only permit comes back once the spinning job sees the interrupt
+            assertEquals(7, (int) next.join().value);
+        }
+    }
+
+    @Test
+    public void testCancelAndFailure() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        try (AlgorithmExecutor executor = new AlgorithmExecutor(2)) {
+            AlgorithmExecutor.Handle<Integer> running = executor.submit(spin(started));
+            started.await();
+            assertTrue(running.cancel());
+            assertFalse(running.cancel());
+            assertEquals(AlgorithmExecutor.Status.CANCELLED, running.join().status);
+
+            AlgorithmExecutor.Outcome<Integer> failed = executor
+                    .submit(AlgorithmExecutor.Job.kSimilarity("ab", "abc")).join();
+            assertEquals(AlgorithmExecutor.Status.FAILED, failed.status);
+            assertTrue(failed.error instanceof IllegalArgumentException);
+        }
+    }
+
+    @Test
+    public void testBatchTimeoutAndClose() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(2);
+        AlgorithmExecutor executor = new AlgorithmExecutor(8);
+        List<AlgorithmExecutor.Outcome<Integer>> outcomes = executor.runAll(
+                Arrays.asList(spin(started), AlgorithmExecutor.Job.of("quick", () -> 1), spin(started)),
+                Duration.ofMillis(50));
+        assertEquals(AlgorithmExecutor.Status.TIMED_OUT, outcomes.get(0).status);
+        assertEquals(AlgorithmExecutor.Status.DONE, outcomes.get(1).status);
+        assertEquals(AlgorithmExecutor.Status.TIMED_OUT, outcomes.get(2).status);
+
+        AlgorithmExecutor.Handle<Integer> open = executor.submit(spin(new CountDownLatch(1)));
+        executor.close();
+        assertEquals(AlgorithmExecutor.Status.CANCELLED, open.join().status);
+        assertEquals(AlgorithmExecutor.Status.CANCELLED,
+                executor.submit(AlgorithmExecutor.Job.of("late", () -> 1)).join().status);
+    }
+
+    @Test
+    public void testTimedSubmissionsAfterCloseAreCancelled() throws InterruptedException {
+        AlgorithmExecutor executor = new AlgorithmExecutor(2);
+        executor.close();
+        AlgorithmExecutor.Handle<Integer> late = executor
+                .submit(AlgorithmExecutor.Job.of("late", () -> 1).withTimeout(Duration.ofSeconds(1)));
+        assertEquals(AlgorithmExecutor.Status.CANCELLED, late.join().status);
+        List<AlgorithmExecutor.Outcome<Integer>> outcomes = executor
+                .runAll(Arrays.asList(AlgorithmExecutor.Job.of("late", () -> 1)), Duration.ofSeconds(1));
+        assertEquals(AlgorithmExecutor.Status.CANCELLED, outcomes.get(0).status);
+        assertEquals(0, executor.pending());
+    }
+
+    @Test
+    public void testSolversStopWhenInterrupted() {
+        Thread.currentThread().interrupt();
+        try {
+            new StickerSolver().minStickers(new String[] { "ab", "bc", "ca" }, "abcabc");
+            throw new AssertionError("not interrupted");
+        } catch (CancellationException expected) {
+            // polled at the first expansion
+        }
+        try {
+            new KSimilaritySolver().kSimilarity("abcdefabcdef", "fabcdeefabcd");
+            throw new AssertionError("not interrupted");
+        } catch (CancellationException expected) {
+            // polled at the first expansion
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+    }
+
+    private static String randomString(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(3));
+        }
+        return new String(chars);
+    }
+}
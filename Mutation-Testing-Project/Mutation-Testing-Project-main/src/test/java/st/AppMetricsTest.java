@@ -0,0 +1,216 @@
+package st;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the log-bucketed histogram, AppMetrics and MeteredApp.
+ */
+public class AppMetricsTest {
+    App obj = new App();
+    MeteredApp metered = new MeteredApp(obj);
+
+    @Before
+    public void setUp() {
+        AppMetrics.reset();
+    }
+
+    @After
+    public void tearDown() {
+        AppMetrics.setEnabled(false);
+        AppMetrics.reset();
+    }
+
+    @Test
+    public void testBucketsCoverEveryValueWithinOneEighth() {
+        Random random = new Random(43);
+        for (long v = 0; v < 100_000; v++) {
+            checkBucket(v);
+        }
+        for (int i = 0; i < 100_000; i++) {
+            checkBucket(random.nextLong() >>> random.nextInt(64));
+        }
+        checkBucket(Long.MAX_VALUE);
+        assertEquals(LogHistogram.BUCKETS - 1, LogHistogram.bucket(Long.MAX_VALUE));
+        assertEquals(0, LogHistogram.bucket(-5));
+    }
+
+    private void checkBucket(long v) {
+        if (v < 0) {
+            return;
+        }
+        int b = LogHistogram.bucket(v);
+        long low = LogHistogram.lowerBound(b);
+        assertTrue(v + " in bucket " + b, low <= v);
+        assertTrue(v + " in bucket " + b, b == LogHistogram.BUCKETS - 1 || v < LogHistogram.lowerBound(b + 1));
+        assertTrue(v - low <= low / 8);
+    }
+
+    @Test
+    public void testHistogramQuantiles() {
+        LogHistogram histogram = new LogHistogram(4);
+        assertEquals(0, histogram.snapshot().valueAt(0.5));
+        for (int v = 1; v <= 1000; v++) {
+            histogram.record(v);
+        }
+        LogHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.count());
+        assertEquals(1, snapshot.valueAt(0));
+        assertEquals(480, snapshot.valueAt(0.5));
+        assertEquals(960, snapshot.valueAt(0.99));
+        assertEquals(960, snapshot.max());
+        assertTrue(Math.abs(snapshot.mean() - 500.5) < 500.5 / 8);
+        histogram.reset();
+        assertEquals(0, histogram.snapshot().count());
+    }
+
+    @Test
+    public void testConcurrentRecordsAreNotLost() throws InterruptedException {
+        LogHistogram histogram = new LogHistogram(8);
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(80_000, histogram.snapshot().count());
+        assertEquals(80_000, Arrays.stream(histogram.snapshot().counts()).sum());
+    }
+
+    @Test
+    public void testDisabledRecordsNothing() {
+        assertEquals(obj.KMPSearch("aab", "xaabaab"), metered.KMPSearch("aab", "xaabaab"));
+        assertEquals(0, AppMetrics.snapshot().get("KMPSearch").calls);
+    }
+
+    @Test
+    public void testEnabledCountsCallsAndSizes() {
+        AppMetrics.setEnabled(true);
+        Random random = new Random(43);
+        for (int i = 0; i < 50; i++) {
+            String text = randomString(random, 1 + random.nextInt(200));
+            String pattern = text.substring(random.nextInt(text.length()));
+            assertEquals(obj.KMPSearch(pattern, text), metered.KMPSearch(pattern, text));
+            assertEquals(obj.rabinKarp(pattern, text, 101), metered.rabinKarp(pattern, text, 101));
+            assertEquals(obj.findLongestPalindromicSubstring(text), metered.findLongestPalindromicSubstring(text));
+        }
+        assertEquals(obj.calculateEditDistance("kitten", "sitting", 6, 7, memo(6, 7)),
+                metered.calculateEditDistance("kitten", "sitting", 6, 7, memo(6, 7)));
+        Map<String, AppMetrics.MethodSnapshot> snapshot = AppMetrics.snapshot();
+        assertEquals(50, snapshot.get("KMPSearch").calls);
+        assertEquals(50, snapshot.get("KMPSearch").latencyNanos.count());
+        assertEquals(50, snapshot.get("rabinKarp").inputSize.count());
+        assertEquals(1, snapshot.get("calculateEditDistance").calls);
+        assertEquals(13, snapshot.get("calculateEditDistance").inputSize.max());
+        assertTrue(snapshot.get("KMPSearch").inputSize.max() <= 200);
+        assertEquals(0, snapshot.get("kSimilarity").calls);
+    }
+
+    @Test
+    public void testDelegatesEveryAlgorithm() {
+        AppMetrics.setEnabled(true);
+        String[] words = { "cat", "cats", "dog", "catsdog", "sand", "and" };
+        assertEquals(obj.ZAlgorithm("abcabc", "bc"), metered.ZAlgorithm("abcabc", "bc"));
+        assertEquals(obj.BoyerMoore("abcabc".toCharArray(), "ca".toCharArray()),
+                metered.BoyerMoore("abcabc".toCharArray(), "ca".toCharArray()));
+        assertEquals(obj.binarySearch(new int[] { 1, 3, 5 }, 5), metered.binarySearch(new int[] { 1, 3, 5 }, 5));
+        assertEquals(obj.linearSearch(new int[] { 1, 3, 5 }, 3), metered.linearSearch(new int[] { 1, 3, 5 }, 3));
+        assertEquals(obj.LCS("abcde".toCharArray(), "ace".toCharArray(), 5, 3),
+                metered.LCS("abcde".toCharArray(), "ace".toCharArray(), 5, 3));
+        assertEquals(obj.lps("bbbab".toCharArray(), 0, 4), metered.lps("bbbab".toCharArray(), 0, 4));
+        assertEquals(obj.maxCommStr("abcdxyz", "xyzabcd"), metered.maxCommStr("abcdxyz", "xyzabcd"));
+        assertEquals(obj.longestCommonPrefix(words), metered.longestCommonPrefix(words));
+        assertEquals(obj.findLongestValidParentheses("(()())", 6), metered.findLongestValidParentheses("(()())", 6));
+        assertEquals(obj.minPalPartition("ababbbabbababa"), metered.minPalPartition("ababbbabbababa"));
+        assertEquals(obj.LongestRepeatingSubSeq("aabb"), metered.LongestRepeatingSubSeq("aabb"));
+        assertEquals(obj.longestPrefixSuffix("abab"), metered.longestPrefixSuffix("abab"));
+        assertEquals(obj.KVowelWords(3, 1), metered.KVowelWords(3, 1));
+        assertEquals(obj.leftrotate("abcdef", 2), metered.leftrotate("abcdef", 2));
+        assertEquals(obj.rightrotate("abcdef", 2), metered.rightrotate("abcdef", 2));
+        assertEquals(obj.isRotation("abcd", "cdab"), metered.isRotation("abcd", "cdab"));
+        assertEquals(obj.reverseVowel("hello"), metered.reverseVowel("hello"));
+        assertEquals(obj.repeatedStringMatch("abcd", "cdabcdab"), metered.repeatedStringMatch("abcd", "cdabcdab"));
+        assertEquals(obj.findAllConcatenatedWordsInADict(words), metered.findAllConcatenatedWordsInADict(words));
+        assertEquals(obj.wordBreak1("catsanddog", Arrays.asList(words)), metered.wordBreak1("catsanddog", Arrays.asList(words)));
+        assertEquals(obj.wordBreak2("catsanddog", Arrays.asList(words)), metered.wordBreak2("catsanddog", Arrays.asList(words)));
+        assertEquals(obj.atMostNGivenDigitSet(new String[] { "1", "3" }, 100),
+                metered.atMostNGivenDigitSet(new String[] { "1", "3" }, 100));
+        assertEquals(obj.isPalindrome("abba"), metered.isPalindrome("abba"));
+        assertEquals(obj.palindromePairs(words), metered.palindromePairs(words));
+        assertEquals(obj.minStickers(new String[] { "with", "example", "science" }, "thehat"),
+                metered.minStickers(new String[] { "with", "example", "science" }, "thehat"));
+        assertEquals(obj.kSimilarity("abc", "bca"), metered.kSimilarity("abc", "bca"));
+        assertEquals(obj.SequenceAlignment("CG", "CA", 3, 2), metered.SequenceAlignment("CG", "CA", 3, 2));
+        assertEquals(obj.WildcardPattern("baaabab", "ba*a?", 7, 5), metered.WildcardPattern("baaabab", "ba*a?", 7, 5));
+        assertEquals(obj.superSeq("AGGTAB", "GXTXAYB", 6, 7, new int[7][8]),
+                metered.superSeq("AGGTAB", "GXTXAYB", 6, 7, new int[7][8]));
+        assertEquals(obj.KMPSearch("ab", "aab"), metered.KMPSearch("ab", "aab"));
+        assertEquals(obj.rabinKarp("ab", "aab", 101), metered.rabinKarp("ab", "aab", 101));
+        assertEquals(obj.findLongestPalindromicSubstring("abacd"), metered.findLongestPalindromicSubstring("abacd"));
+        assertEquals(obj.calculateEditDistance("ab", "ba", 2, 2, memo(2, 2)),
+                metered.calculateEditDistance("ab", "ba", 2, 2, memo(2, 2)));
+        for (AppMetrics.MethodSnapshot method : AppMetrics.snapshot().values()) {
+            assertEquals(method.name, 1, method.calls);
+        }
+    }
+
+    @Test
+    public void testMXBean() throws Exception {
+        ObjectName name = AppMetrics.register();
+        assertEquals(name, AppMetrics.register());
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        assertEquals(false, server.getAttribute(name, "Enabled"));
+        server.setAttribute(name, new javax.management.Attribute("Enabled", true));
+        assertTrue(AppMetrics.enabled());
+        metered.isPalindrome("racecar");
+        metered.isPalindrome("racecars");
+        assertEquals(2L, server.invoke(name, "invocations", new Object[] { "isPalindrome" },
+                new String[] { String.class.getName() }));
+        assertEquals(8L, server.invoke(name, "inputSize", new Object[] { "isPalindrome", 1.0 },
+                new String[] { String.class.getName(), double.class.getName() }));
+        assertEquals(0L, server.invoke(name, "invocations", new Object[] { "noSuchMethod" },
+                new String[] { String.class.getName() }));
+        TabularData invocations = (TabularData) server.getAttribute(name, "Invocations");
+        assertEquals(AppMetrics.snapshot().size(), invocations.size());
+        String[] methods = (String[]) server.getAttribute(name, "Methods");
+        assertArrayEquals(AppMetrics.snapshot().keySet().toArray(new String[0]), methods);
+        server.invoke(name, "reset", new Object[0], new String[0]);
+        assertEquals(0, AppMetrics.snapshot().get("isPalindrome").calls);
+    }
+
+    private static int[][] memo(int len1, int len2) {
+        int[][] memo = new int[len1 + 1][len2 + 1];
+        for (int[] row : memo) {
+            Arrays.fill(row, -1);
+        }
+        return memo;
+    }
+
+    private static String randomString(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(3));
+        }
+        return new String(chars);
+    }
+}
@@ -1,13 +1,16 @@
 package st;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.Test;
 
@@ -180,6 +183,12 @@ public class AppTest {
         Y = "kplrmntuo";
         lookup = new int[X.length() + 1][Y.length() + 1];
         assertEquals(12, obj.superSeq(X, Y, X.length(), Y.length(), lookup), 0.0);
+
+        // Equal first characters reach the (0, 0) base case
+        X = "aab";
+        Y = "aba";
+        lookup = new int[X.length() + 1][Y.length() + 1];
+        assertEquals(4, obj.superSeq(X, Y, X.length(), Y.length(), lookup), 0.0);
     }
 
     @Test
@@ -215,6 +224,30 @@ public class AppTest {
         assertEquals("ap", obj.longestCommonPrefix(input5));
     }
 
+    @Test
+    public void TestLongestCommonPrefixScan() {
+        String input[] = { "flower", "flow", "flight" };
+        String copy[] = input.clone();
+        assertEquals("fl", obj.longestCommonPrefixScan(input));
+        assertEquals("fl", obj.longestCommonPrefixParallel(input));
+        // The caller's array keeps its order
+        assertTrue(Arrays.equals(copy, input));
+        assertEquals("", obj.longestCommonPrefixScan(new String[0]));
+        assertEquals("", obj.longestCommonPrefixParallel(new String[0]));
+        assertEquals("", obj.longestCommonPrefixScan(new String[] { "abc", "" }));
+        assertEquals("solo", obj.longestCommonPrefixScan(new String[] { "solo" }));
+
+        // Large enough to split into several fork/join tasks
+        String[] many = new String[100000];
+        for (int i = 0; i < many.length; i++) {
+            many[i] = "prefix/common/" + Integer.toString(i * 7919, 36);
+        }
+        assertEquals(obj.longestCommonPrefix(many.clone()), obj.longestCommonPrefixParallel(many));
+        many[77777] = "prefix/x";
+        assertEquals("prefix/", obj.longestCommonPrefixParallel(many));
+        assertEquals("prefix/", obj.longestCommonPrefixScan(many));
+    }
+
     @Test
     public void TestLVP() {
         assertEquals(8, obj.findLongestValidParentheses("((()()()()(((())", 16), 0.0);
@@ -272,6 +305,60 @@ public class AppTest {
 
     }
 
+    @Test
+    public void TestLongestPalindromicSubstringByCodePoint() {
+        // U+1F600 is a surrogate pair, the char based version splits it
+        String text = "\uD83D\uDE00a\uD83D\uDE00";
+        assertEquals(1, obj.findLongestPalindromicSubstring(text).length());
+        assertEquals(text, obj.findLongestPalindromicSubstringByCodePoint(text));
+        text = "x\uD83D\uDE00aba\uD83D\uDE00y";
+        assertEquals("\uD83D\uDE00aba\uD83D\uDE00", obj.findLongestPalindromicSubstringByCodePoint(text));
+        assertEquals("madam", obj.findLongestPalindromicSubstringByCodePoint("xyzmadam"));
+        // Like the char version, the first symbol is never picked on its own
+        assertEquals("", obj.findLongestPalindromicSubstringByCodePoint("q"));
+        assertEquals("b", obj.findLongestPalindromicSubstring("ab"));
+        assertEquals("b", obj.findLongestPalindromicSubstringByCodePoint("ab"));
+        assertArrayEquals(new int[] { 1, 1 }, obj.findLongestPalindromicSubstring("ab".getBytes(StandardCharsets.UTF_8)));
+        assertArrayEquals(new int[] { 0, 0 }, obj.findLongestPalindromicSubstring("q".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(null, obj.findLongestPalindromicSubstringByCodePoint(""));
+    }
+
+    @Test
+    public void TestLongestPalindromicSubstringVariantsAgreeOnBmp() {
+        Random random = new Random(28);
+        char[] alphabet = { 'a', 'b', '\u00e9', '\u4e2d' };
+        for (int round = 0; round < 2000; round++) {
+            char[] chars = new char[1 + random.nextInt(12)];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = alphabet[random.nextInt(random.nextBoolean() ? 2 : alphabet.length)];
+            }
+            String text = new String(chars);
+            String expected = obj.findLongestPalindromicSubstring(text);
+            assertEquals(text, expected, obj.findLongestPalindromicSubstringByCodePoint(text));
+            byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+            int[] range = obj.findLongestPalindromicSubstring(utf8);
+            assertEquals(text, expected, new String(utf8, range[0], range[1], StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void TestLongestPalindromicSubstringUtf8() {
+        String text = "zz\u00e9l\u4e2d\uD83D\uDE00\u4e2dl\u00e9q";
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        int[] range = obj.findLongestPalindromicSubstring(utf8);
+        String found = new String(utf8, range[0], range[1], StandardCharsets.UTF_8);
+        assertEquals("\u00e9l\u4e2d\uD83D\uDE00\u4e2dl\u00e9", found);
+        assertEquals(obj.findLongestPalindromicSubstringByCodePoint(text), found);
+
+        // Sub-range of a larger buffer
+        byte[] buffer = "abba|racecar".getBytes(StandardCharsets.UTF_8);
+        assertEquals(0, obj.findLongestPalindromicSubstring(buffer, 0, 4)[0]);
+        assertEquals(4, obj.findLongestPalindromicSubstring(buffer, 0, 4)[1]);
+        assertEquals(5, obj.findLongestPalindromicSubstring(buffer, 5, 7)[0]);
+        assertEquals(7, obj.findLongestPalindromicSubstring(buffer, 5, 7)[1]);
+        assertEquals(0, obj.findLongestPalindromicSubstring(new byte[0])[1]);
+    }
+
     @Test
     public void TestBoyerMoore() {
         // Test 1: Empty Text and Pattern
@@ -373,6 +460,56 @@ public class AppTest {
         assertEquals(26, obj.KVowelWords(N, K));
     }
 
+    @Test
+    public void TestKVowelWordsLongModes() {
+        // The int version is exact while its intermediates do not overflow
+        for (int N = 1; N <= 6; N++) {
+            for (int K = 0; K <= N + 1; K++) {
+                assertEquals(obj.KVowelWords(N, K), obj.KVowelWordsRolling(N, K));
+                assertEquals(obj.KVowelWords(N, K), obj.KVowelWordsMatrix(N, K));
+            }
+        }
+        assertEquals(1, obj.KVowelWordsRolling(0, 3));
+        assertEquals(1, obj.KVowelWordsMatrix(0, 3));
+        Random random = new Random(38);
+        for (int round = 0; round < 50; round++) {
+            int N = random.nextInt(3000);
+            int K = random.nextInt(12);
+            assertEquals(obj.KVowelWordsRolling(N, K), obj.KVowelWordsMatrix(N, K));
+        }
+        // No vowel run longer than N: all 26^N words
+        assertEquals(App.powerMod(26, 500, 1000000007), obj.KVowelWordsMatrix(500, 500));
+        assertEquals(obj.KVowelWordsRolling(1_000_000, 7), obj.KVowelWordsMatrix(1_000_000, 7));
+        int huge = obj.KVowelWordsMatrix(1_000_000_000_000_000_000L, 30);
+        assertTrue(huge >= 0 && huge < 1000000007);
+    }
+
+    @Test
+    public void TestMultiplyModLargeModuli() {
+        Random random = new Random(38);
+        for (long m : new long[] { 1, 2, 1000000007, 1_500_000_001L, Integer.MAX_VALUE }) {
+            int size = 12;
+            long[][] a = new long[size][size], b = new long[size][size];
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    // Mostly m - 1, the worst case for the partial sums
+                    a[i][j] = random.nextInt(4) == 0 ? random.nextLong(m) : m - 1;
+                    b[i][j] = random.nextInt(4) == 0 ? random.nextLong(m) : m - 1;
+                }
+            }
+            long[][] product = App.multiplyMod(a, b, m);
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    long expected = 0;
+                    for (int k = 0; k < size; k++) {
+                        expected = (expected + ModArithmetic.mulMod(a[i][k], b[k][j], m)) % m;
+                    }
+                    assertEquals(expected, product[i][j]);
+                }
+            }
+        }
+    }
+
     @Test
     public void TestLRR() {
         String str = "ncbjknsdjkcnsjkancjksdncjksdncjk";
@@ -396,6 +533,45 @@ public class AppTest {
         assertEquals("a", obj.reverseVowel(str));
     }
 
+    @Test
+    public void TestIsVowel() {
+        String vowels = "aeiouAEIOU";
+        for (char c = 0; c < 512; c++) {
+            assertEquals(vowels.indexOf(c) >= 0, obj.isVowel(c));
+        }
+        assertFalse(obj.isVowel('\u0161')); // 'a' + 256 must not alias
+    }
+
+    @Test
+    public void TestReverseVowelBatch() {
+        String[] inputs = { "leetcode", "hello", "", "xyz", "AEIOU", "programming" };
+        int total = 0;
+        for (String s : inputs) {
+            total += s.length();
+        }
+        char[] out = new char[total];
+        int[] ends = new int[inputs.length];
+        assertEquals(total, obj.reverseVowels(inputs, 0, inputs.length, out, ends));
+        int start = 0;
+        for (int k = 0; k < inputs.length; k++) {
+            assertEquals(obj.reverseVowel(inputs[k]), new String(out, start, ends[k] - start));
+            start = ends[k];
+        }
+
+        // Sub-range of the inputs
+        assertEquals(5, obj.reverseVowels(inputs, 1, 3, out, ends));
+        assertEquals("holle", new String(out, 0, ends[0]));
+
+        java.nio.CharBuffer buffer = java.nio.CharBuffer.wrap("xxleetcodexx".toCharArray());
+        buffer.position(2).limit(10);
+        obj.reverseVowels(buffer);
+        assertEquals("leotcede", buffer.toString());
+        java.nio.CharBuffer direct = java.nio.ByteBuffer.allocateDirect(16).asCharBuffer();
+        direct.put("hello").flip();
+        obj.reverseVowels(direct);
+        assertEquals("holle", direct.toString());
+    }
+
     @Test
     public void TestRepeatedStringMatch() {
         String a = "abcd", b = "cdabcdab";
@@ -408,6 +584,34 @@ public class AppTest {
         assertEquals(-1, obj.repeatedStringMatch(a, b));
     }
 
+    @Test
+    public void TestRepeatedStringMatchCyclic() {
+        assertEquals(3, obj.repeatedStringMatchCyclic("abcd", "cdabcdab"));
+        assertEquals(1, obj.repeatedStringMatchCyclic("abcd", "bc"));
+        assertEquals(2, obj.repeatedStringMatchCyclic("abcd", "da"));
+        assertEquals(-1, obj.repeatedStringMatchCyclic("abc", "wxyz"));
+        assertEquals(0, obj.repeatedStringMatchCyclic("abc", ""));
+        assertEquals(-1, obj.repeatedStringMatchCyclic("", "a"));
+        // Characters outside 'a'..'z' make the horspool shift table throw
+        assertEquals(3, obj.repeatedStringMatchCyclic("AB-\u00e9", "\u00e9AB-\u00e9AB"));
+        assertEquals(4, obj.repeatedStringMatchCyclic("\uD83D\uDE00x", "x\uD83D\uDE00x\uD83D\uDE00x\uD83D"));
+
+        Random random = new Random(33);
+        for (int round = 0; round < 300; round++) {
+            String a = randomLower(random, 1 + random.nextInt(5));
+            String b = randomLower(random, 1 + random.nextInt(12));
+            assertEquals(obj.repeatedStringMatch(a, b), obj.repeatedStringMatchCyclic(a, b));
+        }
+    }
+
+    private String randomLower(Random random, int length) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + random.nextInt(2)));
+        }
+        return sb.toString();
+    }
+
     @Test
     public void testFindAllConcatenatedWordsInADict() {
         // Test Case 1: Empty array
@@ -0,0 +1,121 @@
+package st;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the command-line batch runner.
+ */
+public class BatchRunnerTest {
+    App obj = new App();
+
+    private static List<String> run(String[] args, String... inputs) throws IOException, InterruptedException {
+        List<BufferedReader> readers = new ArrayList<>();
+        for (String input : inputs) {
+            readers.add(new BufferedReader(new StringReader(input)));
+        }
+        StringWriter out = new StringWriter();
+        BatchRunner.run(BatchRunner.Options.parse(args), readers, out);
+        String text = out.toString();
+        // One line per record, each ending in '\n'
+        return text.isEmpty() ? List.of() : Arrays.asList(text.substring(0, text.length() - 1).split("\n", -1));
+    }
+
+    @Test
+    public void testOrderIsKeptAcrossBatchesAndInputs() throws IOException, InterruptedException {
+        Random random = new Random(50);
+        StringBuilder first = new StringBuilder(), second = new StringBuilder();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String a = randomString(random, random.nextInt(10)), b = randomString(random, random.nextInt(10));
+            (i < 600 ? first : second).append(a).append('\t').append(b).append('\n');
+            int[][] memo = new int[a.length() + 1][b.length() + 1];
+            for (int[] row : memo) {
+                Arrays.fill(row, -1);
+            }
+            expected.add(String.valueOf(obj.calculateEditDistance(a, b, a.length(), b.length(), memo)));
+        }
+        // One queue slot, so the reader keeps waiting for the writer
+        List<String> results = run(
+                new String[] { "--algorithm", "editDistance", "--threads", "4", "--batch", "7", "--queue", "1" },
+                first.toString(), second.toString());
+        assertEquals(expected, results);
+        assertEquals(expected, run(new String[] { "--algorithm", "editDistance", "--threads", "1" }, first.toString(),
+                second.toString()));
+    }
+
+    @Test
+    public void testListsErrorsAndBudgets() throws IOException, InterruptedException {
+        assertEquals(Arrays.asList(String.join("|", obj.wordBreak2("catsanddog", Arrays.asList("cat", "cats", "and", "sand", "dog"))), ""),
+                run(new String[] { "--algorithm", "wordBreak2" }, "catsanddog\tcat,cats,and,sand,dog\nzzz\tcat\n"));
+        assertEquals(Arrays.asList("3", "-1"), run(new String[] { "--algorithm", "minStickers" },
+                "thehat\twith,example,science\nbasicbasic\tnotice,possible\n"));
+
+        List<String> results = run(new String[] { "--algorithm", "SequenceAlignment" }, "ab\tab\t3\t2\nab\tab\nab\tab\tx\t2\n");
+        assertEquals("0", results.get(0));
+        assertTrue(results.get(1), results.get(1).startsWith("ERROR java.lang.IllegalArgumentException: expected 4 fields"));
+        assertTrue(results.get(2), results.get(2).startsWith("ERROR java.lang.NumberFormatException"));
+
+        assertEquals(Arrays.asList("STEP_LIMIT", "1"),
+                run(new String[] { "--algorithm", "lps", "--max-steps", "1000" }, "ABCDEFGHIJKLMNOPQRSTUVWXYZ\nA\n"));
+    }
+
+    @Test
+    public void testOverDeepRecordFailsAlone() throws IOException, InterruptedException {
+        // App.calculateEditDistance recurses once per char, 100000 chars overflow the stack
+        String deep = "a".repeat(100_000) + "\t" + "b".repeat(2) + "\n";
+        List<String> results = run(new String[] { "--algorithm", "editDistance", "--threads", "1" },
+                "ab\tab\n" + deep + "abc\tabd\n");
+        assertEquals(3, results.size());
+        assertEquals("0", results.get(0));
+        assertTrue(results.get(1), results.get(1).startsWith("ERROR java.lang.StackOverflowError"));
+        assertEquals("1", results.get(2));
+    }
+
+    @Test
+    public void testSummary() throws IOException, InterruptedException {
+        BatchRunner.Options options = BatchRunner.Options
+                .parse(new String[] { "--algorithm", "isPalindrome", "--batch", "2", "--threads", "3" });
+        assertEquals(6, options.queue);
+        StringWriter out = new StringWriter();
+        BatchRunner.Summary summary = BatchRunner.run(options,
+                Arrays.asList(new BufferedReader(new StringReader("aba\nab\nx\n"))), out);
+        assertEquals("true\nfalse\ntrue\n", out.toString());
+        assertEquals(3, summary.records);
+        assertEquals(2, summary.batches);
+        assertEquals(9, summary.chars);
+        assertEquals(0, summary.errors);
+        String line = summary.format(options);
+        assertTrue(line, line.startsWith("isPalindrome: 3 records in "));
+        assertTrue(line, line.endsWith("3 threads, batch 2, 2 batches, 0 errors, 0 stopped"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownAlgorithm() {
+        BatchRunner.Options.parse(new String[] { "--algorithm", "nope" });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadThreadCount() {
+        BatchRunner.Options.parse(new String[] { "--algorithm", "search", "--threads", "0" });
+    }
+
+    private static String randomString(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(3));
+        }
+        return new String(chars);
+    }
+}
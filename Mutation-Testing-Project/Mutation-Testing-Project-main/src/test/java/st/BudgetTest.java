@@ -0,0 +1,136 @@
+package st;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the budgeted solver variants.
+ */
+public class BudgetTest {
+    App obj = new App();
+
+    // 2^n recursive calls for lps, as no two chars are equal
+    private static char[] distinct(int n) {
+        char[] seq = new char[n];
+        for (int i = 0; i < n; i++) {
+            seq[i] = (char) ('A' + i);
+        }
+        return seq;
+    }
+
+    @Test
+    public void testStepLimit() {
+        Budget budget = Budget.ofSteps(3);
+        assertTrue(budget.step());
+        assertTrue(budget.step());
+        assertTrue(budget.step());
+        assertFalse(budget.step());
+        assertFalse(budget.step());
+        assertEquals(3, budget.steps());
+        assertEquals(Budget.Status.STEP_LIMIT, budget.status());
+    }
+
+    @Test
+    public void testUnlimitedMatchesApp() {
+        Random random = new Random(49);
+        List<String> dict = Arrays.asList("a", "aa", "ab", "b", "ba", "bab");
+        for (int round = 0; round < 100; round++) {
+            String s = randomString(random, 1 + random.nextInt(12));
+            Budget.Result<List<String>> words = obj.wordBreak2(s, dict, Budget.unlimited());
+            assertTrue(words.isDone());
+            assertEquals(obj.wordBreak2(s, dict), words.value);
+            Budget.Result<Integer> lps = obj.lps(s.toCharArray(), Budget.unlimited());
+            assertEquals(obj.lps(s.toCharArray(), 0, s.length() - 1), (int) lps.value);
+            assertEquals(-1, lps.stored);
+            assertTrue(lps.steps > 0);
+        }
+        assertEquals(0, (int) obj.lps(new char[0], Budget.unlimited()).value);
+        Budget.Result<Integer> stickers = new StickerSolver().minStickers(new String[] { "with", "example", "science" },
+                "thehat", Budget.unlimited());
+        assertEquals(Budget.Status.DONE, stickers.status);
+        assertEquals(3, (int) stickers.value);
+        Budget.Result<Integer> swaps = new KSimilaritySolver().kSimilarity("abcdefabcdef", "fabcdeefabcd",
+                Budget.unlimited());
+        assertEquals(obj.kSimilarity("abcdefabcdef", "fabcdeefabcd"), (int) swaps.value);
+    }
+
+    @Test
+    public void testTimeoutStopsExponentialCalls() {
+        long started = System.nanoTime();
+        Budget.Result<Integer> lps = obj.lps(distinct(60), Budget.of(Duration.ofMillis(20)));
+        assertEquals(Budget.Status.TIMED_OUT, lps.status);
+        assertNull(lps.value);
+        assertTrue(lps.elapsedNanos >= Duration.ofMillis(20).toNanos());
+
+        String a = "a".repeat(40);
+        Budget.Result<List<String>> words = obj.wordBreak2(a, Arrays.asList("a", "aa", "aaa"),
+                Budget.of(Duration.ofMillis(20)));
+        assertEquals(Budget.Status.TIMED_OUT, words.status);
+        assertNull(words.value);
+        assertTrue(words.stored > 0);
+        assertTrue(System.nanoTime() - started < Duration.ofSeconds(5).toNanos());
+    }
+
+    @Test
+    public void testStepLimitGivesLowerBounds() {
+        String s1 = "abcdefabcdef", s2 = "fabcdeefabcd";
+        int swaps = obj.kSimilarity(s1, s2);
+        Budget.Result<Integer> bound = new KSimilaritySolver().kSimilarity(s1, s2, Budget.ofSteps(1));
+        assertEquals(Budget.Status.STEP_LIMIT, bound.status);
+        assertEquals(1, bound.steps);
+        assertTrue(bound.value + " <= " + swaps, bound.value <= swaps);
+
+        String[] stickers = { "ab", "bc", "cd", "de" };
+        String target = "abcdeabcdeabcdeabcde";
+        int needed = obj.minStickers(stickers, target);
+        Budget.Result<Integer> partial = new StickerSolver().minStickers(stickers, target, Budget.ofSteps(3));
+        assertEquals(Budget.Status.STEP_LIMIT, partial.status);
+        assertTrue(partial.value + " <= " + needed, partial.value >= 1 && partial.value <= needed);
+        assertTrue(partial.stored > 0);
+
+        // 26 letters 8 times each do not pack into a long, so App's BFS runs under the budget
+        StringBuilder large = new StringBuilder();
+        for (char c = 'a'; c <= 'z'; c++) {
+            large.append(String.valueOf(c).repeat(8));
+        }
+        List<String> words = new ArrayList<>();
+        for (char c = 'a'; c < 'z'; c++) {
+            words.add("" + c + (char) (c + 1));
+        }
+        Budget.Result<Integer> fallback = new StickerSolver().minStickers(words.toArray(new String[0]),
+                large.toString(), Budget.ofSteps(100));
+        assertEquals(Budget.Status.STEP_LIMIT, fallback.status);
+        assertEquals(100, fallback.steps);
+        assertTrue(fallback.value >= 1);
+    }
+
+    @Test
+    public void testInterruptCancels() {
+        Thread.currentThread().interrupt();
+        try {
+            Budget.Result<Integer> lps = obj.lps(distinct(40), Budget.unlimited());
+            assertEquals(Budget.Status.CANCELLED, lps.status);
+            assertEquals(0, lps.steps);
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+    }
+
+    private static String randomString(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(2));
+        }
+        return new String(chars);
+    }
+}
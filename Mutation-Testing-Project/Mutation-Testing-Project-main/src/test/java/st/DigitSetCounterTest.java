@@ -0,0 +1,80 @@
+package st;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the long-bound digit DP counter.
+ */
+public class DigitSetCounterTest {
+    App obj = new App();
+
+    @Test
+    public void testMatchesApp() {
+        Random random = new Random(40);
+        for (int round = 0; round < 300; round++) {
+            // App expects sorted non-zero digits
+            int k = 1 + random.nextInt(9);
+            String[] D = new String[k];
+            int mask = 0;
+            while (Integer.bitCount(mask) < k) {
+                mask |= 1 << (1 + random.nextInt(9));
+            }
+            for (int d = 1, i = 0; d <= 9; d++) {
+                if ((mask & (1 << d)) != 0) {
+                    D[i++] = String.valueOf(d);
+                }
+            }
+            DigitSetCounter counter = new DigitSetCounter(D);
+            int n = random.nextBoolean() ? 1 + random.nextInt(1000) : 1 + random.nextInt(Integer.MAX_VALUE - 1);
+            if (Math.pow(k, String.valueOf(n).length()) < Integer.MAX_VALUE) {
+                assertEquals(obj.atMostNGivenDigitSet(D, n), counter.atMost(n));
+            }
+        }
+        assertEquals(20, new DigitSetCounter(new String[] { "1", "3", "5", "7" }).atMost(100));
+        assertEquals(29523, new DigitSetCounter(new String[] { "1", "4", "9" }).atMost(1000000000));
+    }
+
+    @Test
+    public void testBruteForceWithZero() {
+        DigitSetCounter counter = new DigitSetCounter(0, 2, 7);
+        long count = 0;
+        for (int n = 1; n <= 30000; n++) {
+            boolean valid = true;
+            for (int m = n; m > 0; m /= 10) {
+                valid &= m % 10 == 0 || m % 10 == 2 || m % 10 == 7;
+            }
+            count += valid ? 1 : 0;
+            assertEquals(count, counter.atMost(n));
+        }
+        assertEquals(0, counter.atMost(0));
+        assertEquals(0, counter.atMost(-5));
+        assertEquals(4, counter.count(19, 70)); // 20, 22, 27, 70
+        assertEquals(0, counter.count(30, 20));
+    }
+
+    @Test
+    public void testLongBoundsAndBatch() {
+        DigitSetCounter all = new DigitSetCounter(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertEquals(Long.MAX_VALUE, all.atMost(Long.MAX_VALUE));
+        assertEquals(999_999_999_999L, all.count(1_000_000_000_000L, 1_999_999_999_999L) - 1);
+
+        // Only 9s: one number per length
+        DigitSetCounter nines = new DigitSetCounter(9);
+        assertEquals(18, nines.atMost(Long.MAX_VALUE));
+        long[] bounds = { 8, 9, 99, 1_000_000_000_000_000_000L, 999_999_999_999_999_999L };
+        assertArrayEquals(new long[] { 0, 1, 2, 18, 18 }, nines.atMostAll(bounds));
+
+        // 5 digits, length 19 numbers below 5 * 10^18 with leading 1..4
+        DigitSetCounter odd = new DigitSetCounter(1, 3, 5, 7, 9);
+        long shorter = 0;
+        for (int len = 1; len < 19; len++) {
+            shorter += (long) Math.pow(5, len);
+        }
+        assertEquals(shorter + 2 * (long) Math.pow(5, 18), odd.atMost(4_000_000_000_000_000_000L));
+    }
+}
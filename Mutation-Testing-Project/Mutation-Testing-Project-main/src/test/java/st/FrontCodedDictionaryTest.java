@@ -0,0 +1,110 @@
+package st;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the front-coded dictionary and the App overloads that accept it.
+ */
+public class FrontCodedDictionaryTest {
+    App obj = new App();
+
+    @Test
+    public void testLookups() {
+        FrontCodedDictionary dict = new FrontCodedDictionary("cat", "cats", "dog", "and", "sand", "cat", "");
+        assertEquals(6, dict.size());
+        assertTrue(dict.contains("cats"));
+        assertTrue(dict.contains(""));
+        assertFalse(dict.contains("ca"));
+        assertFalse(dict.contains("zebra"));
+        assertEquals(Arrays.asList("", "and", "cat", "cats", "dog", "sand"), toList(dict));
+        assertEquals(2, dict.ordinal("cat"));
+        assertEquals("cats", dict.get(3));
+        assertEquals(-3, dict.ordinal("b")); // would be inserted at 2
+        assertArrayEquals(new int[] { 2, 4 }, dict.prefixRange("ca"));
+        assertArrayEquals(new int[] { 6, 6 }, dict.prefixRange("x"));
+        assertArrayEquals(new int[] { 0, 6 }, dict.prefixRange(""));
+    }
+
+    @Test
+    public void testMatchesSortedSetAcrossBlocks() {
+        Random random = new Random(30);
+        TreeSet<String> expected = new TreeSet<>();
+        List<String> input = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            String word = "w" + Integer.toString(random.nextInt(5000), 36) + (random.nextBoolean() ? "é" : "");
+            input.add(word);
+            expected.add(word);
+        }
+        FrontCodedDictionary dict = new FrontCodedDictionary(input);
+        assertEquals(new ArrayList<>(expected), toList(dict));
+        int ordinal = 0;
+        for (String word : expected) {
+            assertEquals(ordinal, dict.ordinal(word));
+            assertEquals(word, dict.get(ordinal++));
+        }
+        for (int i = 0; i < 500; i++) {
+            String probe = "w" + Integer.toString(random.nextInt(5000), 36);
+            assertEquals(expected.contains(probe), dict.contains(probe));
+            int[] range = dict.prefixRange(probe);
+            int count = 0;
+            for (String word : expected) {
+                if (word.startsWith(probe)) {
+                    count++;
+                }
+            }
+            assertEquals(count, range[1] - range[0]);
+        }
+    }
+
+    @Test
+    public void testMemoryReport() {
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            words.add("dictionary-entry-" + i);
+        }
+        FrontCodedDictionary dict = new FrontCodedDictionary(words);
+        assertTrue(dict.bytesPerEntry() < 16);
+        assertTrue(FrontCodedDictionary.estimateHashSetBytes(words) > 5 * dict.memoryBytes());
+    }
+
+    @Test
+    public void testAppOverloadsMatchStringVersions() {
+        List<String> wordDict = Arrays.asList("cat", "cats", "and", "sand", "dog");
+        FrontCodedDictionary dict = new FrontCodedDictionary(wordDict);
+        assertEquals(obj.wordBreak1("catsanddog", wordDict), obj.wordBreak1("catsanddog", dict));
+        assertEquals(obj.wordBreak1("catsandog", wordDict), obj.wordBreak1("catsandog", dict));
+        assertEquals(obj.wordBreak2("catsanddog", wordDict), obj.wordBreak2("catsanddog", dict));
+
+        String[] words = { "cat", "cats", "catsdogcats", "dog", "dogcatsdog", "hippopotamuses", "rat", "ratcatdogcat" };
+        assertEquals(new HashSet<>(obj.findAllConcatenatedWordsInADict(words)),
+                new HashSet<>(obj.findAllConcatenatedWordsInADict(new FrontCodedDictionary(words))));
+
+        // Already sorted and unique, so ordinals equal the array indexes
+        String[] pairs = { "", "a", "abcd", "dcba", "lls", "s", "sssll" };
+        assertEquals(new HashSet<>(obj.palindromePairs(pairs)),
+                new HashSet<>(obj.palindromePairs(new FrontCodedDictionary(pairs))));
+
+        String[] stickers = { "with", "example", "science" };
+        assertEquals(obj.minStickers(stickers, "thehat"), obj.minStickers(new FrontCodedDictionary(stickers), "thehat"));
+    }
+
+    private List<String> toList(FrontCodedDictionary dict) {
+        List<String> list = new ArrayList<>();
+        for (String word : dict) {
+            list.add(word);
+        }
+        return list;
+    }
+}
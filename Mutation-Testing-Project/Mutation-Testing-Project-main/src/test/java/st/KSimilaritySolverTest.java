@@ -0,0 +1,81 @@
+package st;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the IDA* k-similarity solver.
+ */
+public class KSimilaritySolverTest {
+    App obj = new App();
+    KSimilaritySolver solver = new KSimilaritySolver();
+
+    @Test
+    public void testKnownInstances() {
+        assertEquals(1, solver.kSimilarity("ab", "ba"));
+        assertEquals(2, solver.kSimilarity("abc", "bca"));
+        assertEquals(0, solver.kSimilarity("abc", "abc"));
+        assertEquals(2, solver.kSimilarity("abac", "baca"));
+        assertEquals(0, solver.kSimilarity("", ""));
+    }
+
+    @Test
+    public void testMatchesBfs() {
+        Random random = new Random(32);
+        for (int round = 0; round < 200; round++) {
+            int length = 1 + random.nextInt(9);
+            String a = randomWord(random, length, 1 + random.nextInt(6));
+            String b = shuffle(random, a);
+            KSimilaritySolver.Result result = solver.solve(a, b);
+            assertEquals(obj.kSimilarity(a, b), result.swaps);
+            assertTrue(result.expanded >= 0);
+        }
+    }
+
+    @Test
+    public void testLowerBoundIsAdmissible() {
+        Random random = new Random(132);
+        for (int round = 0; round < 50; round++) {
+            String a = randomWord(random, 20, 6);
+            String b = shuffle(random, a);
+            KSimilaritySolver.Result result = solver.solve(a, b);
+            int mismatches = 0;
+            for (int i = 0; i < a.length(); i++) {
+                if (a.charAt(i) != b.charAt(i)) {
+                    mismatches++;
+                }
+            }
+            // Each swap fixes at most two positions and at least one
+            assertTrue(result.swaps >= (mismatches + 1) / 2);
+            assertTrue(result.swaps <= Math.max(0, mismatches - 1));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsNonAnagrams() {
+        solver.kSimilarity("abc", "abd");
+    }
+
+    private String randomWord(Random random, int length, int alphabet) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + random.nextInt(alphabet)));
+        }
+        return sb.toString();
+    }
+
+    private String shuffle(Random random, String s) {
+        char[] chars = s.toCharArray();
+        for (int i = chars.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            char tmp = chars[i];
+            chars[i] = chars[j];
+            chars[j] = tmp;
+        }
+        return new String(chars);
+    }
+}
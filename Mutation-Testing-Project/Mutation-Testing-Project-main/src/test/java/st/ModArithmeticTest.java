@@ -0,0 +1,57 @@
+package st;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the long, Montgomery and fixed-base modular exponentiation.
+ */
+public class ModArithmeticTest {
+    App obj = new App();
+
+    @Test
+    public void testMatchesBigInteger() {
+        Random random = new Random(39);
+        int[] moduli = { 1, 2, 3, 97, 46341, 65536, 1_000_000_007, 998_244_353, Integer.MAX_VALUE };
+        for (int mod : moduli) {
+            ModArithmetic.Montgomery montgomery = (mod & 1) == 1 && mod > 1 ? new ModArithmetic.Montgomery(mod) : null;
+            for (int round = 0; round < 200; round++) {
+                long base = random.nextInt();
+                long exp = random.nextBoolean() ? random.nextInt(100) : random.nextLong() >>> 1;
+                long expected = BigInteger.valueOf(base).modPow(BigInteger.valueOf(exp), BigInteger.valueOf(mod)).longValue();
+                assertEquals(expected, ModArithmetic.pow(base, exp, mod));
+                assertEquals(expected, new ModArithmetic.FixedBase(base, mod).pow(exp));
+                if (montgomery != null) {
+                    assertEquals(expected, montgomery.pow(base, exp));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPowAllAndSmallModuliAgreeWithPower() {
+        int[] bases = { 0, 1, 2, 5, 12345, 46340, -7 };
+        int[] odd = ModArithmetic.powAll(bases, 1_000_003, 1_000_000_007);
+        int[] even = ModArithmetic.powAll(bases, 1_000_003, 1 << 30);
+        for (int i = 0; i < bases.length; i++) {
+            assertEquals(ModArithmetic.pow(bases[i], 1_000_003, 1_000_000_007), odd[i]);
+            assertEquals(ModArithmetic.pow(bases[i], 1_000_003, 1 << 30), even[i]);
+        }
+        assertArrayEquals(new int[0], ModArithmetic.powAll(new int[0], 3, 7));
+
+        // App.power is exact while (p - 1)^2 fits an int, x = 0 skipped since it returns 0 for 0^0
+        for (int x = 1; x < 50; x++) {
+            for (int y = 0; y < 50; y++) {
+                assertEquals(obj.power(x, y, 46337), ModArithmetic.pow(x, y, 46337));
+            }
+        }
+        // ... and wrong beyond that
+        assertEquals(BigInteger.valueOf(5).pow(20).mod(BigInteger.valueOf(1_000_000_007)).longValue(),
+                ModArithmetic.pow(5, 20, 1_000_000_007));
+    }
+}
@@ -0,0 +1,89 @@
+package st;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the palindrome range query index.
+ */
+public class PalindromeIndexTest {
+    App obj = new App();
+
+    @Test
+    public void testIsPalindrome() {
+        PalindromeIndex index = new PalindromeIndex("xabacabay");
+        assertTrue(index.isPalindrome(1, 7));   // abacaba
+        assertTrue(index.isPalindrome(0, 0));
+        assertTrue(index.isPalindrome(2, 6));   // bacab
+        assertFalse(index.isPalindrome(0, 7));
+        assertFalse(index.isPalindrome(1, 2));
+    }
+
+    @Test
+    public void testLongestPalindromeInRange() {
+        PalindromeIndex index = new PalindromeIndex("abacdcabba");
+        assertEquals("bacdcab", index.longestPalindrome(0, 9));
+        assertEquals("aba", index.longestPalindrome(0, 3));
+        assertEquals("abba", index.longestPalindrome(6, 9));
+        assertEquals("cdc", index.longestPalindrome(3, 6));
+        assertEquals(1, index.longestPalindrome(4, 4).length());
+        // Unlike App.findLongestPalindromicSubstring, the first char is not skipped
+        assertEquals(1, index.longestPalindrome(3, 4).length());
+        assertEquals("a", new PalindromeIndex("ab").longestPalindrome(0, 1));
+        assertEquals("q", new PalindromeIndex("q").longestPalindrome(0, 0));
+    }
+
+    @Test
+    public void testMatchesBruteForceOnRandomRanges() {
+        Random random = new Random(27);
+        for (int round = 0; round < 20; round++) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 40; i++) {
+                sb.append((char) ('a' + random.nextInt(2)));
+            }
+            String text = sb.toString();
+            PalindromeIndex index = new PalindromeIndex(text);
+            for (int q = 0; q < 50; q++) {
+                int l = random.nextInt(text.length());
+                int r = l + random.nextInt(text.length() - l);
+                String sub = text.substring(l, r + 1);
+                assertEquals(obj.isPalindrome(sub), index.isPalindrome(l, r));
+
+                String longest = index.longestPalindrome(l, r);
+                assertTrue(obj.isPalindrome(longest));
+                assertTrue(sub.contains(longest));
+                assertEquals(bruteForceLongest(sub), longest.length());
+            }
+        }
+    }
+
+    @Test
+    public void testMemoryReport() {
+        PalindromeIndex index = new PalindromeIndex("abcdefghijklmnopqrstuvwxyz");
+        assertTrue(index.memoryBytes() > 0);
+        assertTrue(index.bytesPerCharacter() > 8);
+        assertEquals(0, new PalindromeIndex("").bytesPerCharacter(), 0.0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testInvalidRange() {
+        new PalindromeIndex("abc").isPalindrome(2, 3);
+    }
+
+    private int bruteForceLongest(String s) {
+        int best = 0;
+        for (int i = 0; i < s.length(); i++) {
+            for (int j = i + 1; j <= s.length(); j++) {
+                if (j - i > best && obj.isPalindrome(s.substring(i, j))) {
+                    best = j - i;
+                }
+            }
+        }
+        return best;
+    }
+}
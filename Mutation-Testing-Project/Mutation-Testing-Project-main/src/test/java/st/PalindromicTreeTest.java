@@ -0,0 +1,83 @@
+package st;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the online palindrome tracker.
+ */
+public class PalindromicTreeTest {
+    App obj = new App();
+
+    @Test
+    public void testEmptyTracker() {
+        PalindromicTree tree = new PalindromicTree();
+        assertEquals("", tree.longestPalindrome());
+        assertEquals("", tree.longestPalindromicSuffix());
+        assertEquals(0, tree.distinctPalindromes());
+    }
+
+    @Test
+    public void testAppendOneByOne() {
+        PalindromicTree tree = new PalindromicTree();
+        tree.append('a');
+        assertEquals("a", tree.longestPalindrome());
+        tree.append('b');
+        assertEquals("b", tree.longestPalindromicSuffix());
+        tree.append('a');
+        assertEquals("aba", tree.longestPalindrome());
+        assertEquals(3, tree.distinctPalindromes()); // a, b, aba
+        tree.append("cabacaba");
+        assertEquals("abacabacaba", tree.longestPalindrome());
+        assertEquals(0, tree.longestPalindromeStart());
+        assertEquals("abacabacaba", tree.longestPalindromicSuffix());
+    }
+
+    @Test
+    public void testMatchesManacherOnEveryPrefix() {
+        Random random = new Random(26);
+        for (int round = 0; round < 50; round++) {
+            StringBuilder sb = new StringBuilder();
+            PalindromicTree tree = new PalindromicTree();
+            for (int i = 0; i < 60; i++) {
+                char c = (char) ('a' + random.nextInt(3));
+                sb.append(c);
+                tree.append(c);
+                if (sb.length() == 1) {
+                    continue; // Manacher's loop starts at the second position
+                }
+                String expected = obj.findLongestPalindromicSubstring(sb.toString());
+                assertEquals(expected.length(), tree.longestPalindrome().length());
+                assertTrue(obj.isPalindrome(tree.longestPalindrome()));
+            }
+            assertEquals(bruteForceDistinct(sb.toString()), tree.distinctPalindromes());
+        }
+    }
+
+    @Test
+    public void testNonAsciiCharacters() {
+        PalindromicTree tree = new PalindromicTree().append("xé中éx!");
+        assertEquals("xé中éx", tree.longestPalindrome());
+        assertEquals("!", tree.longestPalindromicSuffix());
+        assertEquals(6, tree.length());
+    }
+
+    private int bruteForceDistinct(String s) {
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < s.length(); i++) {
+            for (int j = i + 1; j <= s.length(); j++) {
+                String sub = s.substring(i, j);
+                if (obj.isPalindrome(sub)) {
+                    seen.add(sub);
+                }
+            }
+        }
+        return seen.size();
+    }
+}
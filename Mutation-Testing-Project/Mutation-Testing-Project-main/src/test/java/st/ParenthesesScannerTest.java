@@ -0,0 +1,122 @@
+package st;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the streaming and chunk-parallel longest valid parentheses.
+ */
+public class ParenthesesScannerTest {
+    App obj = new App();
+
+    @Test
+    public void testStreamingAcrossChunks() {
+        ParenthesesScanner scanner = new ParenthesesScanner();
+        scanner.accept("((()(");
+        scanner.accept("))");
+        assertEquals(6, scanner.longest());
+        scanner.accept(")()()(");
+        assertEquals(12, scanner.longest()); // "((()()))()()"
+        assertEquals(0, scanner.longestStart());
+        assertEquals(12, scanner.longestEnd());
+        assertEquals(13, scanner.position());
+
+        ParenthesesScanner empty = new ParenthesesScanner();
+        empty.accept("))((");
+        assertEquals(0, empty.longest());
+        assertEquals(-1, empty.longestStart());
+        assertEquals(-1, empty.longestEnd());
+    }
+
+    @Test
+    public void testMatchesTwoPassScan() throws IOException {
+        Random random = new Random(36);
+        for (int round = 0; round < 500; round++) {
+            String s = randomBrackets(random, random.nextInt(200));
+            int expected = obj.findLongestValidParentheses(s, s.length());
+
+            ParenthesesScanner scanner = new ParenthesesScanner();
+            for (int i = 0; i < s.length();) {
+                int end = Math.min(s.length(), i + 1 + random.nextInt(7));
+                scanner.accept(s.subSequence(i, end));
+                i = end;
+            }
+            assertEquals(s, expected, scanner.longest());
+            assertEquals(expected, ParenthesesScanner.scan(new StringReader(s)).longest());
+            if (expected > 0) {
+                long start = scanner.longestStart();
+                assertEquals(expected, obj.findLongestValidParentheses(
+                        s.substring((int) start, (int) scanner.longestEnd()), expected));
+            }
+        }
+    }
+
+    @Test
+    public void testMergedSummariesMatchStreaming() {
+        Random random = new Random(36);
+        for (int round = 0; round < 500; round++) {
+            String s = randomBrackets(random, 1 + random.nextInt(300));
+            ParenthesesScanner scanner = new ParenthesesScanner();
+            scanner.accept(s);
+
+            // Fold chunks of random size from left to right
+            int end = 1 + random.nextInt(s.length());
+            ParenthesesScanner.Summary summary = ParenthesesScanner.Summary.of(s, 0, end);
+            while (end < s.length()) {
+                int next = Math.min(s.length(), end + 1 + random.nextInt(20));
+                summary = summary.merge(ParenthesesScanner.Summary.of(s, end, next));
+                end = next;
+            }
+            assertEquals(s, scanner.longest(), summary.bestLength);
+            assertEquals(s, scanner.longestStart(), summary.bestStart);
+        }
+    }
+
+    @Test
+    public void testParallelOnLargeInput() {
+        Random random = new Random(36);
+        String s = randomBrackets(random, 1 << 20) + "(((" + "()".repeat(5000) + ")))";
+        ParenthesesScanner scanner = new ParenthesesScanner();
+        scanner.accept(s);
+        assertArrayEquals(new long[] { scanner.longestStart(), scanner.longest() },
+                ParenthesesScanner.longestParallel(s));
+        assertEquals(obj.findLongestValidParentheses(s, s.length()), scanner.longest());
+    }
+
+    @Test
+    public void testPrefixSumMatchesSequential() {
+        Random random = new Random(37);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int round = 0; round < 500; round++) {
+                String s = randomBrackets(random, random.nextInt(300));
+                ParenthesesScanner scanner = new ParenthesesScanner();
+                scanner.accept(s);
+                long[] result = ParenthesesScanner.longestPrefixSum(s, pool, 1 + random.nextInt(40));
+                assertEquals(s, obj.findLongestValidParentheses(s, s.length()), result[1]);
+                assertEquals(s, scanner.longestStart(), result[0]);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        String s = randomBrackets(random, 1 << 20);
+        assertEquals(obj.findLongestValidParentheses(s, s.length()), obj.findLongestValidParenthesesParallel(s, s.length()));
+        assertEquals(4, obj.findLongestValidParenthesesParallel(")()())(", 5));
+        assertEquals(0, obj.findLongestValidParenthesesParallel("", 0));
+    }
+
+    private String randomBrackets(Random random, int length) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append(random.nextInt(100) < 52 ? '(' : ')');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,53 @@
+package st;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the compressed trie common prefix helper.
+ */
+public class PrefixTrieTest {
+    App obj = new App();
+
+    @Test
+    public void testSubsetCommonPrefix() {
+        String[] words = { "interview", "internet", "internal", "interval", "in", "apple", "", "internet" };
+        PrefixTrie trie = new PrefixTrie(words);
+        assertEquals("inter", trie.commonPrefix(0, 1, 2, 3));
+        assertEquals("intern", trie.commonPrefix(1, 2));
+        assertEquals("interval", trie.commonPrefix(3));
+        assertEquals("in", trie.commonPrefix(0, 4));
+        assertEquals("", trie.commonPrefix(0, 5));
+        assertEquals("", trie.commonPrefix(6, 1));
+        assertEquals("internet", trie.commonPrefix(1, 7));
+        assertEquals("", trie.commonPrefix());
+        assertEquals(8, trie.size());
+    }
+
+    @Test
+    public void testMatchesScanOnRandomSubsets() {
+        Random random = new Random(29);
+        String[] words = new String[300];
+        for (int i = 0; i < words.length; i++) {
+            StringBuilder sb = new StringBuilder();
+            int len = random.nextInt(12);
+            for (int j = 0; j < len; j++) {
+                sb.append((char) ('a' + random.nextInt(3)));
+            }
+            words[i] = sb.toString();
+        }
+        PrefixTrie trie = new PrefixTrie(words);
+        for (int q = 0; q < 500; q++) {
+            int[] ids = new int[1 + random.nextInt(5)];
+            String[] subset = new String[ids.length];
+            for (int k = 0; k < ids.length; k++) {
+                ids[k] = random.nextInt(words.length);
+                subset[k] = words[ids[k]];
+            }
+            assertEquals(obj.longestCommonPrefixScan(subset), trie.commonPrefix(ids));
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package st;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the segmented LRU result cache and CachedApp.
+ */
+public class ResultCacheTest {
+    App obj = new App();
+
+    private static ResultCache<String> cache(long entries, long weight, int stripes) {
+        return new ResultCache<>(entries, weight, (key, value) -> value.length(), stripes);
+    }
+
+    @Test
+    public void testHitsMissesAndLoader() {
+        ResultCache<String> cache = cache(10, 1000, 1);
+        AtomicInteger loads = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            assertEquals("v", cache.get(ResultCache.Key.of("f", "x", 1), () -> {
+                loads.incrementAndGet();
+                return "v";
+            }));
+        }
+        assertEquals(1, loads.get());
+        ResultCache.Stats stats = cache.stats();
+        assertEquals(2, stats.hits);
+        assertEquals(1, stats.misses);
+        assertEquals(1, stats.size);
+        assertEquals(2.0 / 3, stats.hitRate(), 1e-9);
+        assertNull(cache.getIfPresent(ResultCache.Key.of("f", "x", 2)));
+    }
+
+    @Test
+    public void testKeysCompareContents() {
+        assertEquals(ResultCache.Key.of("a", new String[] { "x", "y" }, 3),
+                ResultCache.Key.of("a", new String[] { "x", "y" }, 3));
+        assertEquals(ResultCache.Key.of("a", Arrays.asList("x", "y")).hash(),
+                ResultCache.Key.of("a", new ArrayList<>(Arrays.asList("x", "y"))).hash());
+        assertNotEquals(ResultCache.Key.of("ab").hash(), ResultCache.Key.of((Object) "ab".toCharArray()).hash());
+        assertNotEquals(ResultCache.Key.of("a", "bc"), ResultCache.Key.of("ab", "c"));
+    }
+
+    @Test
+    public void testEqualHashesAreVerified() {
+        ResultCache<String> cache = cache(10, 1000, 1);
+        ResultCache.Key first = new ResultCache.Key(42, new Object[] { "first" });
+        ResultCache.Key second = new ResultCache.Key(42, new Object[] { "second" });
+        cache.put(first, "1");
+        assertNull(cache.getIfPresent(second));
+        cache.put(second, "2");
+        assertEquals("1", cache.getIfPresent(first));
+        assertEquals("2", cache.getIfPresent(second));
+    }
+
+    @Test
+    public void testStoredKeysAreCopies() {
+        ResultCache<String> cache = cache(10, 1000, 1);
+        String[] args = { "x", "y" };
+        cache.put(ResultCache.Key.of((Object) args), "v");
+        args[0] = "changed";
+        assertNull(cache.getIfPresent(ResultCache.Key.of((Object) args)));
+        assertEquals("v", cache.getIfPresent(ResultCache.Key.of((Object) new String[] { "x", "y" })));
+    }
+
+    @Test
+    public void testEntryAndWeightBounds() {
+        ResultCache<String> cache = cache(4, 1000, 1);
+        for (int i = 0; i < 10; i++) {
+            cache.put(ResultCache.Key.of(i), "v");
+        }
+        assertEquals(4, cache.stats().size);
+        assertEquals(6, cache.stats().evictions);
+        // Oldest probation entries go first
+        assertNull(cache.getIfPresent(ResultCache.Key.of(5)));
+        assertEquals("v", cache.getIfPresent(ResultCache.Key.of(9)));
+
+        ResultCache<String> weighted = cache(100, 10, 1);
+        weighted.put(ResultCache.Key.of(1), "aaaa");
+        weighted.put(ResultCache.Key.of(2), "bbbb");
+        weighted.put(ResultCache.Key.of(3), "cccc");
+        assertEquals(2, weighted.stats().size);
+        assertEquals(8, weighted.stats().weight);
+        assertEquals(4, weighted.stats().evictedWeight);
+        // Heavier than the whole budget: not stored, nothing evicted
+        weighted.put(ResultCache.Key.of(4), "x".repeat(11));
+        assertEquals(2, weighted.stats().size);
+        assertNull(weighted.getIfPresent(ResultCache.Key.of(4)));
+    }
+
+    @Test
+    public void testProtectedEntriesSurviveAScan() {
+        ResultCache<String> cache = cache(10, 1000, 1);
+        for (int i = 0; i < 5; i++) {
+            cache.put(ResultCache.Key.of("hot", i), "v");
+            cache.getIfPresent(ResultCache.Key.of("hot", i));
+        }
+        for (int i = 0; i < 1000; i++) {
+            cache.put(ResultCache.Key.of("scan", i), "v");
+        }
+        for (int i = 0; i < 5; i++) {
+            assertEquals("v", cache.getIfPresent(ResultCache.Key.of("hot", i)));
+        }
+        assertEquals(10, cache.stats().size);
+    }
+
+    @Test
+    public void testConcurrentAccess() throws InterruptedException {
+        ResultCache<String> cache = cache(64, 1 << 20, 8);
+        Thread[] threads = new Thread[8];
+        AtomicInteger wrong = new AtomicInteger();
+        for (int t = 0; t < threads.length; t++) {
+            int seed = t;
+            threads[t] = new Thread(() -> {
+                Random random = new Random(47 + seed);
+                for (int i = 0; i < 20_000; i++) {
+                    int k = random.nextInt(200);
+                    String value = cache.get(ResultCache.Key.of("k", k), () -> "value" + k);
+                    if (!value.equals("value" + k)) {
+                        wrong.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, wrong.get());
+        ResultCache.Stats stats = cache.stats();
+        assertEquals(160_000, stats.hits + stats.misses);
+        assertTrue(stats.size <= 64);
+        // Racing misses on one key both load it, the second put replaces the first
+        assertTrue(stats.toString(), stats.size + stats.evictions <= stats.misses);
+    }
+
+    @Test
+    public void testCachedAppMatchesApp() {
+        CachedApp cached = new CachedApp(obj, 100, 100_000);
+        Random random = new Random(47);
+        List<String> dict = Arrays.asList("cat", "cats", "and", "sand", "dog");
+        for (int i = 0; i < 200; i++) {
+            String a = randomString(random, random.nextInt(12)), b = randomString(random, random.nextInt(12));
+            int[][] memo = new int[a.length() + 1][b.length() + 1];
+            for (int[] row : memo) {
+                Arrays.fill(row, -1);
+            }
+            assertEquals(obj.calculateEditDistance(a, b, a.length(), b.length(), memo), cached.calculateEditDistance(a, b));
+            assertEquals(obj.LCS(a.toCharArray(), b.toCharArray(), a.length(), b.length()), cached.LCS(a, b));
+            assertEquals(obj.SequenceAlignment(a, b, 3, 2), cached.SequenceAlignment(a, b, 3, 2));
+        }
+        assertEquals(obj.wordBreak2("catsanddog", dict), cached.wordBreak2("catsanddog", dict));
+        assertEquals(obj.wordBreak2("catsanddog", dict), cached.wordBreak2("catsanddog", new ArrayList<>(dict)));
+        String[] stickers = { "with", "example", "science" };
+        assertEquals(3, cached.minStickers(stickers, "thehat"));
+        assertEquals(3, cached.minStickers(stickers.clone(), "thehat"));
+        ResultCache.Stats stats = cached.stats();
+        assertTrue(stats.toString(), stats.hits >= 2);
+        assertTrue(stats.size <= 100);
+    }
+
+    private static String randomString(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(3));
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,81 @@
+package st;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for zero-copy rotations, minimal rotation and rotation checks.
+ */
+public class RotatedViewTest {
+    App obj = new App();
+
+    @Test
+    public void testMatchesLeftAndRightRotate() {
+        String str = "GeeksforGeeks";
+        for (int n = 0; n <= str.length(); n++) {
+            assertEquals(obj.leftrotate(str, n), RotatedView.left(str, n).toString());
+            assertEquals(obj.rightrotate(str, n), RotatedView.right(str, n).toString());
+        }
+        assertEquals("ksGeeksforGee", RotatedView.left(str, -2).toString());
+        assertEquals(RotatedView.left(str, 3).toString(), RotatedView.left(str, 3 + 5 * str.length()).toString());
+    }
+
+    @Test
+    public void testCharSequenceContract() {
+        RotatedView view = RotatedView.left("abcdef", 4);
+        assertEquals(6, view.length());
+        assertEquals('e', view.charAt(0));
+        assertEquals('d', view.charAt(5));
+        assertEquals("fab", view.subSequence(1, 4).toString());
+        assertEquals("", view.subSequence(2, 2).toString());
+        assertEquals("abcabcab", new RotatedView("abc", 0, 8).toString());
+        assertEquals("", RotatedView.left("", 3).toString());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testCharAtOutOfRange() {
+        RotatedView.left("abc", 1).charAt(3);
+    }
+
+    @Test
+    public void testMinimalRotation() {
+        assertEquals("ababc", RotatedView.minimalRotation("cabab").toString());
+        assertEquals("aab", RotatedView.minimalRotation("baa").toString());
+        assertEquals("aaaa", RotatedView.minimalRotation("aaaa").toString());
+        assertEquals(0, RotatedView.minimalRotationOffset(""));
+
+        Random random = new Random(34);
+        for (int round = 0; round < 300; round++) {
+            StringBuilder sb = new StringBuilder();
+            int length = 1 + random.nextInt(12);
+            for (int i = 0; i < length; i++) {
+                sb.append((char) ('a' + random.nextInt(3)));
+            }
+            String s = sb.toString();
+            String best = s;
+            for (int n = 1; n < s.length(); n++) {
+                String rotation = obj.leftrotate(s, n);
+                if (rotation.compareTo(best) < 0) {
+                    best = rotation;
+                }
+            }
+            assertEquals(best, RotatedView.minimalRotation(s).toString());
+        }
+    }
+
+    @Test
+    public void testIsRotation() {
+        assertTrue(obj.isRotation("waterbottle", "erbottlewat"));
+        assertTrue(obj.isRotation("abc", "abc"));
+        assertTrue(obj.isRotation("", ""));
+        assertFalse(obj.isRotation("abc", "acb"));
+        assertFalse(obj.isRotation("abc", "abcabc"));
+        assertTrue(RotatedView.sameNecklace("waterbottle", "erbottlewat"));
+        assertFalse(RotatedView.sameNecklace("abc", "acb"));
+    }
+}
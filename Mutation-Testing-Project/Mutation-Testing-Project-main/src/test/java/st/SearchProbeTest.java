@@ -0,0 +1,132 @@
+package st;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the instrumented searches and the corpus report.
+ */
+public class SearchProbeTest {
+    App obj = new App();
+
+    @Test
+    public void testFirstMatchAgreesWithApp() {
+        Random random = new Random(45);
+        for (int round = 0; round < 2000; round++) {
+            String text = randomString(random, 1 + random.nextInt(60), 1 + random.nextInt(3));
+            String pattern = random.nextBoolean()
+                    ? text.substring(random.nextInt(text.length())).substring(0, 1)
+                    : randomString(random, 1 + random.nextInt(Math.min(6, text.length())), 2);
+            if (random.nextBoolean()) {
+                int from = random.nextInt(text.length());
+                pattern = text.substring(from, from + 1 + random.nextInt(text.length() - from));
+            }
+            char[] txt = text.toCharArray(), pat = pattern.toCharArray();
+            assertEquals(obj.rabinKarp(pattern, text, 101), SearchProbe.rabinKarp(pattern, text, 101, false).first());
+            assertEquals(obj.ZAlgorithm(text, pattern), SearchProbe.ZAlgorithm(text, pattern, false).first());
+            assertEquals(obj.KMPSearch(pattern, text), SearchProbe.KMPSearch(pattern, text, false).first());
+            assertEquals(obj.BoyerMoore(txt, pat), SearchProbe.BoyerMoore(txt, pat, false).first());
+            int found = SearchProbe.horspool(txt, pat, false).first();
+            int rep = obj.horspool(txt, txt.length, pat.length, 7, obj.getShifts(pat, pat.length), pat);
+            assertEquals(found >= 0 ? 7 : -1, rep);
+        }
+    }
+
+    @Test
+    public void testAllFindsEveryOccurrence() {
+        Random random = new Random(45);
+        for (int round = 0; round < 2000; round++) {
+            String text = randomString(random, 1 + random.nextInt(80), 1 + random.nextInt(3));
+            int from = random.nextInt(text.length());
+            String pattern = text.substring(from, from + 1 + random.nextInt(Math.min(5, text.length() - from)));
+            int[] expected = occurrences(text, pattern);
+            char[] txt = text.toCharArray(), pat = pattern.toCharArray();
+            assertArrayEquals(expected, SearchProbe.rabinKarp(pattern, text, 3, true).positions);
+            assertArrayEquals(expected, SearchProbe.ZAlgorithm(text, pattern, true).positions);
+            assertArrayEquals(expected, SearchProbe.KMPSearch(pattern, text, true).positions);
+            assertArrayEquals(expected, SearchProbe.BoyerMoore(txt, pat, true).positions);
+            assertArrayEquals(text + " " + pattern, expected, SearchProbe.horspool(txt, pat, true).positions);
+        }
+    }
+
+    @Test
+    public void testCounters() {
+        String text = "a".repeat(99) + "b";
+        SearchProbe.Result kmp = SearchProbe.KMPSearch("aab", text, false);
+        assertEquals(97, kmp.first());
+        assertEquals(3, kmp.preprocessComparisons);
+        // KMP never moves back in the text: at most two comparisons per text char
+        assertTrue(kmp.comparisons <= 2 * text.length());
+        assertEquals(97, kmp.shiftDistance);
+        assertEquals(-1, kmp.hashHits);
+
+        SearchProbe.Result boyerMoore = SearchProbe.BoyerMoore(text.toCharArray(), "aab".toCharArray(), false);
+        assertEquals(97, boyerMoore.first());
+        // One comparison per alignment, the last char of "aab" fails against 'a'
+        assertEquals(97, boyerMoore.shifts);
+        assertEquals(97 + 3, boyerMoore.comparisons);
+
+        SearchProbe.Result z = SearchProbe.ZAlgorithm(text, "aab", false);
+        assertEquals(-1, z.shifts);
+        // App's Z keeps R on the last matched char, so each extension compares it again
+        assertEquals(298, z.comparisons);
+
+        SearchProbe.Result rabinKarp = SearchProbe.rabinKarp("ab", "cdcdcdab", 2, true);
+        assertArrayEquals(new int[] { 6 }, rabinKarp.positions);
+        assertEquals(rabinKarp.hashHits - 1, rabinKarp.hashCollisions);
+        assertTrue(rabinKarp.hashCollisions > 0);
+        assertEquals(6, rabinKarp.shifts);
+
+        SearchProbe.Result horspool = SearchProbe.horspool(text.toCharArray(), "aab".toCharArray(), false);
+        assertEquals(97, horspool.first());
+        assertTrue(horspool.preprocessNanos >= 0 && horspool.searchNanos >= 0);
+    }
+
+    @Test
+    public void testReport() {
+        List<String[]> samples = SearchReport.sampleCorpus();
+        Map<String, SearchReport.Totals> totals = SearchReport.summarize(samples, 101, false);
+        assertEquals(Arrays.asList(SearchReport.ALGORITHMS), new ArrayList<>(totals.keySet()));
+        long matches = totals.get("KMPSearch").matches;
+        for (SearchReport.Totals t : totals.values()) {
+            assertEquals(samples.size(), t.runs);
+            assertEquals(matches, t.matches);
+            assertTrue(t.comparisons > 0);
+        }
+        assertTrue(totals.get("rabinKarp").hashCollisions > 0);
+        String report = SearchReport.format(totals, samples.size());
+        assertTrue(report, report.contains("horspool"));
+        assertEquals(2 + SearchReport.ALGORITHMS.length, report.split("\n").length);
+
+        List<String[]> unicode = SearchReport.samples(Arrays.asList("λόγος λόγος", ""), new Random(45));
+        Map<String, SearchReport.Totals> skipped = SearchReport.summarize(unicode, 101, true);
+        assertEquals(SearchReport.PATTERNS_PER_FILE, skipped.get("horspool").skipped);
+        assertEquals(SearchReport.PATTERNS_PER_FILE, skipped.get("BoyerMoore").skipped);
+        assertEquals(SearchReport.PATTERNS_PER_FILE, skipped.get("KMPSearch").runs);
+    }
+
+    private static int[] occurrences(String text, String pattern) {
+        List<Integer> positions = new ArrayList<>();
+        for (int i = text.indexOf(pattern); i >= 0; i = text.indexOf(pattern, i + 1)) {
+            positions.add(i);
+        }
+        return positions.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static String randomString(Random random, int length, int alphabet) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(alphabet));
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,88 @@
+package st;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the packed-state / subset DP sticker engine.
+ */
+public class StickerSolverTest {
+    App obj = new App();
+    StickerSolver solver = new StickerSolver();
+
+    @Test
+    public void testKnownInstances() {
+        assertEquals(3, solver.minStickers(new String[] { "with", "example", "science" }, "thehat"));
+        assertEquals(-1, solver.minStickers(new String[] { "notice", "possible" }, "basicbasic"));
+        assertEquals(0, solver.minStickers(new String[] { "a" }, ""));
+        assertEquals(-1, solver.minStickers(new String[0], "a"));
+    }
+
+    @Test
+    public void testSubsetDpMatchesBfs() {
+        Random random = new Random(31);
+        for (int round = 0; round < 100; round++) {
+            String[] stickers = randomWords(random, 1 + random.nextInt(8), 6, 5);
+            String target = randomWords(random, 1, StickerSolver.SUBSET_LIMIT, 5)[0];
+            assertEquals(obj.minStickers(stickers, target), solver.minStickers(stickers, target));
+        }
+    }
+
+    @Test
+    public void testPackedBfsMatchesBfs() {
+        Random random = new Random(131);
+        for (int round = 0; round < 30; round++) {
+            String[] stickers = randomWords(random, 2 + random.nextInt(6), 8, 4);
+            String target = randomWords(random, 1, 20, 4)[0];
+            if (target.length() <= StickerSolver.SUBSET_LIMIT) {
+                continue;
+            }
+            assertEquals(obj.minStickers(stickers, target), solver.minStickers(stickers, target));
+        }
+    }
+
+    @Test
+    public void testStateSpaceLimit() {
+        // 1000 needs 10 bits per letter, 63 bits are available
+        assertTrue(StickerSolver.fitsInLong(new int[] { 1000, 1000, 1000, 1000, 1000, 1000 }));
+        assertFalse(StickerSolver.fitsInLong(new int[] { 1000, 1000, 1000, 1000, 1000, 1000, 1000 }));
+        assertTrue(StickerSolver.fitsInLong(new int[63]));
+    }
+
+    @Test
+    public void testPrimitiveCollections() {
+        StickerSolver.LongSet set = new StickerSolver.LongSet();
+        StickerSolver.LongQueue queue = new StickerSolver.LongQueue();
+        for (long i = 0; i < 1000; i++) {
+            assertTrue(set.add(i * 31));
+            queue.add(i);
+        }
+        assertFalse(set.add(0));
+        assertFalse(set.add(31 * 999));
+        assertTrue(set.contains(62));
+        assertFalse(set.contains(63));
+        assertEquals(1000, set.size());
+        for (long i = 0; i < 1000; i++) {
+            assertEquals(i, queue.poll());
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    private String[] randomWords(Random random, int count, int maxLength, int alphabet) {
+        String[] words = new String[count];
+        for (int i = 0; i < count; i++) {
+            StringBuilder sb = new StringBuilder();
+            int length = 1 + random.nextInt(maxLength);
+            for (int j = 0; j < length; j++) {
+                sb.append((char) ('a' + random.nextInt(alphabet)));
+            }
+            words[i] = sb.toString();
+        }
+        return words;
+    }
+}